@@ -0,0 +1,73 @@
+#!/bin/bash
+# Compares the default Tomcat setup (HTTP/1.1) with the prod profile (HTTP/1.1 with long
+# keep-alive, and h2c) on JWT-authenticated card reads, and appends the results to
+# bench/http2-tomcat.csv.
+#
+# Usage: bench/http2-tomcat.sh <username> <password> [seconds] [connections] [streams]
+# Expects PostgreSQL from docker-compose.yml to be running and migrated, the jar built into
+# target/, and the given user to own at least one card. Requires curl, jq and h2load (nghttp2).
+# Rate limiting is switched off so it does not cap the numbers.
+
+set -euo pipefail
+
+USERNAME=${1:?"username required"}
+PASSWORD=${2:?"password required"}
+DURATION=${3:-60}
+CONNECTIONS=${4:-200}
+STREAMS=${5:-10}
+PORT=18082
+BASE_URL="http://localhost:$PORT"
+JAR=$(ls target/bankapi-*.jar | grep -v plain | head -1)
+RESULTS="$(dirname "$0")/http2-tomcat.csv"
+
+if [ ! -f "$RESULTS" ]; then
+  echo "date,commit,variant,seconds,connections,requests_per_second,p50_millis,p99_millis,failed" > "$RESULTS"
+fi
+COMMIT=$(git rev-parse --short HEAD)
+
+start_app() {
+  java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$1" \
+    --app.rate-limit.enabled=false > /dev/null 2>&1 &
+  APP_PID=$!
+  until curl -fs "$BASE_URL/actuator/health" | grep -q '"status":"UP"'; do
+    kill -0 "$APP_PID" 2>/dev/null || { echo "application exited" >&2; exit 1; }
+    sleep 0.2
+  done
+  TOKEN=$(curl -sf -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" | jq -r '.data.accessToken')
+  CARD_ID=$(curl -sf -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/cards" | jq -r '.data.items[0].id')
+}
+
+stop_app() {
+  kill "$APP_PID" && wait "$APP_PID" 2>/dev/null || true
+}
+
+# h2load --log-file records microseconds per request in the third column
+measure() {
+  local variant=$1 protocol_flag=$2 streams=$3
+  local log_file report
+  log_file=$(mktemp)
+
+  h2load $protocol_flag -D 15 -c "$CONNECTIONS" -m "$streams" \
+    -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/cards" "$BASE_URL/api/cards/$CARD_ID" > /dev/null
+  report=$(h2load $protocol_flag -D "$DURATION" -c "$CONNECTIONS" -m "$streams" --log-file="$log_file" \
+    -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/cards" "$BASE_URL/api/cards/$CARD_ID")
+
+  local rps failed p50 p99
+  rps=$(echo "$report" | sed -n 's/.*finished in [^,]*, \([0-9.]*\) req\/s.*/\1/p')
+  failed=$(echo "$report" | sed -n 's/.* \([0-9]*\) failed.*/\1/p' | head -1)
+  read -r p50 p99 < <(cut -f3 "$log_file" | sort -n | awk '{v[NR]=$1} END {printf "%.1f %.1f", v[int(NR*0.50)]/1000, v[int(NR*0.99)]/1000}')
+  rm -f "$log_file"
+
+  echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$COMMIT,$variant,$DURATION,$CONNECTIONS,$rps,$p50,$p99,$failed" >> "$RESULTS"
+  echo "$variant: $rps req/s, p50 ${p50} ms, p99 ${p99} ms, $failed failed"
+}
+
+start_app default
+measure default-http1 --h1 1
+stop_app
+
+start_app prod
+measure prod-http1 --h1 1
+measure prod-h2c "" "$STREAMS"
+stop_app
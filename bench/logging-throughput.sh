@@ -0,0 +1,64 @@
+#!/bin/bash
+# Compares request throughput between the dev logging setup (synchronous text, DEBUG for
+# application and Spring Security code) and the default one (async JSON at INFO), and
+# appends the results to bench/logging-throughput.csv.
+#
+# Usage: bench/logging-throughput.sh <username> <password> [seconds] [concurrency]
+# Expects PostgreSQL from docker-compose.yml to be running and migrated, the jar built into
+# target/, and the given user to exist. Requires curl, jq and hey (github.com/rakyll/hey).
+# Rate limiting is switched off so it does not cap the numbers.
+
+set -euo pipefail
+
+USERNAME=${1:?"username required"}
+PASSWORD=${2:?"password required"}
+DURATION=${3:-60}
+CONCURRENCY=${4:-64}
+PORT=18081
+BASE_URL="http://localhost:$PORT"
+JAR=$(ls target/bankapi-*.jar | grep -v plain | head -1)
+RESULTS="$(dirname "$0")/logging-throughput.csv"
+
+if [ ! -f "$RESULTS" ]; then
+  echo "date,commit,variant,seconds,concurrency,requests_per_second,p99_millis" > "$RESULTS"
+fi
+COMMIT=$(git rev-parse --short HEAD)
+
+run_variant() {
+  local variant=$1 profile=$2
+  local log_file
+  log_file=$(mktemp)
+
+  # Logs go to a file, as they would to a container log driver, rather than to a terminal
+  java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" \
+    --app.rate-limit.enabled=false > "$log_file" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null; rm -f "$log_file"' RETURN
+
+  until curl -fs "$BASE_URL/actuator/health" | grep -q '"status":"UP"'; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$variant: application exited" >&2
+      tail -20 "$log_file" >&2
+      exit 1
+    fi
+    sleep 0.2
+  done
+
+  local token
+  token=$(curl -sf -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" | jq -r '.data.accessToken')
+
+  # Warm up, then measure
+  hey -z 15s -c "$CONCURRENCY" -H "Authorization: Bearer $token" "$BASE_URL/api/cards" > /dev/null
+  local report
+  report=$(hey -z "${DURATION}s" -c "$CONCURRENCY" -H "Authorization: Bearer $token" "$BASE_URL/api/cards")
+
+  local rps p99
+  rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+  p99=$(echo "$report" | awk '/ 99% in/ {printf "%.1f", $3 * 1000}')
+  echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$COMMIT,$variant,$DURATION,$CONCURRENCY,$rps,$p99" >> "$RESULTS"
+  echo "$variant: $rps req/s, p99 ${p99} ms, $(wc -l < "$log_file") log lines"
+}
+
+run_variant sync-debug dev
+run_variant async-json default
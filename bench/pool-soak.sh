@@ -0,0 +1,55 @@
+#!/bin/bash
+# Soak test for the connection pool: drives a storm of concurrent transfers and samples
+# the Hikari gauges once a second into bench/pool-soak-<timestamp>.csv.
+#
+# Usage: bench/pool-soak.sh <admin-user> <admin-password> <from-card-id> <to-card-id> [concurrency] [seconds]
+# Start the application with rate limiting off so the storm reaches the pool:
+#   java -jar target/bankapi-v1.jar --app.rate-limit.enabled=false
+# Requires curl and jq. The source card needs enough balance for the run (0.01 per transfer).
+
+set -euo pipefail
+
+USERNAME=${1:?"admin username required"}
+PASSWORD=${2:?"admin password required"}
+FROM_CARD=${3:?"source card id required"}
+TO_CARD=${4:?"target card id required"}
+CONCURRENCY=${5:-200}
+DURATION=${6:-300}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+RESULTS="$(dirname "$0")/pool-soak-$(date +%Y%m%d-%H%M%S).csv"
+
+TOKEN=$(curl -sf -X POST "$BASE_URL/api/auth/login" \
+  -H 'Content-Type: application/json' \
+  -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" | jq -r '.data.accessToken')
+
+metric() {
+  curl -sf -H "Authorization: Bearer $TOKEN" "$BASE_URL/actuator/metrics/$1" \
+    | jq -r "[.measurements[] | select(.statistic == \"${2:-VALUE}\") | .value][0] // 0" 2>/dev/null || echo 0
+}
+
+storm() {
+  local deadline=$((SECONDS + DURATION))
+  while [ $SECONDS -lt $deadline ]; do
+    curl -s -o /dev/null -w '%{http_code}\n' -X POST "$BASE_URL/api/cards/transfer" \
+      -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/json' \
+      -d "{\"fromCardId\":$FROM_CARD,\"toCardId\":$TO_CARD,\"amount\":0.01,\"description\":\"soak\"}"
+  done
+}
+
+STATUS_LOG=$(mktemp)
+trap 'kill $(jobs -p) 2>/dev/null; rm -f "$STATUS_LOG"' EXIT
+
+for _ in $(seq "$CONCURRENCY"); do
+  storm >> "$STATUS_LOG" &
+done
+
+echo "second,active,idle,pending,acquire_wait_avg_ms,timeouts,shed" > "$RESULTS"
+for second in $(seq "$DURATION"); do
+  echo "$second,$(metric hikaricp.connections.active),$(metric hikaricp.connections.idle),$(metric hikaricp.connections.pending),$(metric bank.datasource.acquire.wait.average),$(metric hikaricp.connections.timeout COUNT),$(metric bank.requests.shed COUNT)" >> "$RESULTS"
+  sleep 1
+done
+wait
+
+echo "Responses by status:"
+sort "$STATUS_LOG" | uniq -c
+echo "Pool samples written to $RESULTS"
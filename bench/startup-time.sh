@@ -0,0 +1,52 @@
+#!/bin/bash
+# Measures time from container start to the first healthy /actuator/health response
+# and appends the results to bench/startup-times.csv.
+#
+# Usage: bench/startup-time.sh <default|fast-startup> [runs]
+# Expects PostgreSQL from docker-compose.yml to be running on localhost:5432 and
+# migrated (java -jar target/bankapi-v1.jar --migrate-only)
+# and the jar for the chosen variant to be built into target/.
+
+set -euo pipefail
+
+VARIANT=${1:?"variant required: default or fast-startup"}
+RUNS=${2:-5}
+PORT=18080
+RESULTS="$(dirname "$0")/startup-times.csv"
+
+case "$VARIANT" in
+  default) DOCKERFILE=Dockerfile ;;
+  fast-startup) DOCKERFILE=Dockerfile.fast-startup ;;
+  *) echo "unknown variant: $VARIANT" >&2; exit 1 ;;
+esac
+
+IMAGE="bankapi-startup-bench:$VARIANT"
+docker build -q -f "$DOCKERFILE" -t "$IMAGE" . > /dev/null
+
+if [ ! -f "$RESULTS" ]; then
+  echo "date,commit,variant,run,millis" > "$RESULTS"
+fi
+COMMIT=$(git rev-parse --short HEAD)
+
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  container=$(docker run -d --rm -p "$PORT:8080" \
+    --add-host host.docker.internal:host-gateway \
+    -e SPRING_DATASOURCE_URL=jdbc:postgresql://host.docker.internal:5432/bankdb \
+    "$IMAGE")
+
+  until curl -fs "http://localhost:$PORT/actuator/health" | grep -q '"status":"UP"'; do
+    if [ $(( ($(date +%s%N) - start) / 1000000 )) -gt 120000 ]; then
+      echo "run $run: timed out waiting for health" >&2
+      docker logs "$container" | tail -20 >&2
+      docker stop "$container" > /dev/null
+      exit 1
+    fi
+    sleep 0.05
+  done
+
+  millis=$(( ($(date +%s%N) - start) / 1000000 ))
+  docker stop "$container" > /dev/null
+  echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$COMMIT,$VARIANT,$run,$millis" >> "$RESULTS"
+  echo "run $run: ${millis} ms"
+done
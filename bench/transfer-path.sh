@@ -0,0 +1,30 @@
+#!/bin/bash
+# Runs the JMH comparison of the transfer validation and mutation path (BigDecimal against
+# long minor units) and appends the results to bench/transfer-path.csv.
+#
+# Usage: bench/transfer-path.sh [extra JMH options]
+# Needs only a JDK and Maven; no database or running application.
+
+set -euo pipefail
+
+RESULTS="$(dirname "$0")/transfer-path.csv"
+RAW=target/jmh-transfer-path.csv
+
+mvn -q -Pjmh -DskipTests test-compile dependency:build-classpath \
+  -Dmdep.includeScope=test -Dmdep.outputFile=target/jmh-classpath.txt
+
+java -cp "target/test-classes:target/classes:$(cat target/jmh-classpath.txt)" \
+  org.openjdk.jmh.Main TransferPathBenchmark -rf csv -rff "$RAW" "$@"
+
+if [ ! -f "$RESULTS" ]; then
+  echo "date,commit,benchmark,nanos_per_op,error_nanos" > "$RESULTS"
+fi
+COMMIT=$(git rev-parse --short HEAD)
+DATE=$(date -u +%Y-%m-%dT%H:%M:%SZ)
+
+# JMH csv: "Benchmark","Mode","Threads","Samples","Score","Score Error (99.9%)","Unit"
+tail -n +2 "$RAW" | while IFS=, read -r name mode threads samples score error unit; do
+  echo "$DATE,$COMMIT,$(echo "$name" | tr -d '"' | sed 's/.*\.//'),$score,$error" >> "$RESULTS"
+done
+
+column -s, -t "$RESULTS"
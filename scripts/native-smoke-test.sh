@@ -0,0 +1,53 @@
+#!/bin/bash
+# Smoke test for the native binary: starts target/bankapi against the local PostgreSQL
+# from docker-compose.yml and exercises register, login, card creation and a transfer.
+#
+# Usage: mvn -Pnative package native:compile -DskipTests && scripts/native-smoke-test.sh
+# The schema is migrated with the JVM jar first; the native binary only verifies it.
+
+set -euo pipefail
+
+BINARY=${BINARY:-target/bankapi}
+PORT=${PORT:-18081}
+BASE="http://localhost:$PORT"
+USERNAME="smoke$(date +%s)"
+
+docker compose up -d postgres > /dev/null
+java -jar target/bankapi-v1.jar --migrate-only
+
+start=$(date +%s%N)
+"$BINARY" --server.port="$PORT" > target/native-smoke.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+until curl -fs "$BASE/actuator/health" | grep -q '"status":"UP"'; do
+  if ! kill -0 $APP_PID 2>/dev/null; then
+    echo "native binary exited, see target/native-smoke.log" >&2
+    exit 1
+  fi
+  sleep 0.02
+done
+echo "healthy after $(( ($(date +%s%N) - start) / 1000000 )) ms, RSS $(ps -o rss= -p $APP_PID) KB"
+
+json() {
+  sed -n "s/.*\"$1\":\"\{0,1\}\([^,\"}]*\).*/\1/p"
+}
+
+curl -fs -H 'Content-Type: application/json' "$BASE/api/auth/register" \
+  -d "{\"username\":\"$USERNAME\",\"email\":\"$USERNAME@example.com\",\"password\":\"secret123\",\"firstName\":\"Smoke\",\"lastName\":\"Test\"}" > /dev/null
+
+TOKEN=$(curl -fs -H 'Content-Type: application/json' "$BASE/api/auth/login" \
+  -d "{\"username\":\"$USERNAME\",\"password\":\"secret123\"}" | json accessToken)
+AUTH="Authorization: Bearer $TOKEN"
+
+FROM=$(curl -fs -H "$AUTH" -H 'Content-Type: application/json' "$BASE/api/cards" -d '{"initialBalance":100.00}' | json id)
+TO=$(curl -fs -H "$AUTH" -H 'Content-Type: application/json' "$BASE/api/cards" -d '{}' | json id)
+
+STATUS=$(curl -fs -H "$AUTH" -H 'Content-Type: application/json' "$BASE/api/cards/transfer" \
+  -d "{\"fromCardId\":$FROM,\"toCardId\":$TO,\"amount\":25.00,\"description\":\"smoke\"}" | json status)
+
+if [ "$STATUS" != "COMPLETED" ]; then
+  echo "transfer failed: status=$STATUS" >&2
+  exit 1
+fi
+echo "native smoke test passed"
@@ -0,0 +1,107 @@
+package com.example.bankcards.bench;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.MinorUnits;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and balance mutation of one transfer there and back, as done by
+ * {@code CardService.transferFunds}: the old {@link BigDecimal} arithmetic against {@code long}
+ * minor units on the {@link Card} entity. Persistence is left out, this is the in-memory part only.
+ * <p>
+ * Run with {@code bench/transfer-path.sh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TransferPathBenchmark {
+
+    // As it arrives from JSON in TransferRequest
+    private final BigDecimal requestAmount = new BigDecimal("12.34");
+
+    private DecimalCard decimalFrom;
+    private DecimalCard decimalTo;
+
+    private Card minorFrom;
+    private Card minorTo;
+
+    @Setup
+    public void setUp() {
+        decimalFrom = new DecimalCard(new BigDecimal("1000000.00"));
+        decimalTo = new DecimalCard(new BigDecimal("250.00"));
+        minorFrom = new Card();
+        minorFrom.setBalance(100_000_000L);
+        minorTo = new Card();
+        minorTo.setBalance(25_000L);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        transfer(decimalFrom, decimalTo, requestAmount);
+        transfer(decimalTo, decimalFrom, requestAmount);
+        return decimalFrom.getBalance();
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        long amount = MinorUnits.of(requestAmount);
+        transfer(minorFrom, minorTo, amount);
+        transfer(minorTo, minorFrom, amount);
+        return minorFrom.getBalance();
+    }
+
+    private static void transfer(DecimalCard from, DecimalCard to, BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (from.getBalance().compareTo(amount) < 0) {
+            throw new IllegalStateException("Insufficient funds");
+        }
+        from.addToBalance(amount.negate());
+        to.addToBalance(amount);
+    }
+
+    private static void transfer(Card from, Card to, long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (from.getBalance() < amount) {
+            throw new IllegalStateException("Insufficient funds");
+        }
+        from.addToBalance(-amount);
+        to.addToBalance(amount);
+    }
+
+    // The balance handling Card had before it moved to minor units
+    private static final class DecimalCard {
+
+        private BigDecimal balance;
+        private final BigDecimal shardedBalance = BigDecimal.ZERO;
+        private final long pendingCreditsMinor = 0;
+
+        DecimalCard(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        BigDecimal getBalance() {
+            BigDecimal total = balance;
+            if (shardedBalance != null && shardedBalance.signum() != 0) {
+                total = total.add(shardedBalance);
+            }
+            if (pendingCreditsMinor != 0) {
+                total = total.add(BigDecimal.valueOf(pendingCreditsMinor, 2));
+            }
+            return total;
+        }
+
+        void addToBalance(BigDecimal delta) {
+            balance = balance.add(delta);
+        }
+    }
+}
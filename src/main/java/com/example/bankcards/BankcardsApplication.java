@@ -1,12 +1,26 @@
 package com.example.bankcards;
 
+import com.example.bankcards.migration.DatabaseMigrator;
+import com.example.bankcards.reactive.ReactiveReadServer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+import java.util.Arrays;
+
+// R2DBC is only used by the reactive read server (--reactive-read)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class BankcardsApplication {
 
 	public static void main(String[] args) {
+		if (Arrays.asList(args).contains(DatabaseMigrator.MIGRATE_ONLY_ARG)) {
+			DatabaseMigrator.main(args);
+			return;
+		}
+		if (Arrays.asList(args).contains(ReactiveReadServer.REACTIVE_READ_ARG)) {
+			ReactiveReadServer.main(args);
+			return;
+		}
 		SpringApplication.run(BankcardsApplication.class, args);
 	}
 
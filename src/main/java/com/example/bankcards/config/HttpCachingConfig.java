@@ -0,0 +1,23 @@
+package com.example.bankcards.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class HttpCachingConfig {
+
+    /**
+     * Paged listings have no single version to derive an ETag from, so they get one from a hash
+     * of the rendered body. That saves bandwidth rather than server work. The filter buffers the
+     * whole response, so it is only mapped to the bounded paged endpoints and never to streamed ones.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listingEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/cards", "/api/users", "/api/cards/block/request");
+        registration.setName("listingEtagFilter");
+        return registration;
+    }
+}
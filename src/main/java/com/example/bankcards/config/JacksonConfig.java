@@ -0,0 +1,25 @@
+package com.example.bankcards.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Blackbird replaces reflective getter calls with generated lambdas, which pays off on the
+     * large listings of response DTOs. It relies on runtime class definition, so the native
+     * image keeps plain reflection.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> builder.postConfigurer(objectMapper -> {
+            if (!NativeDetector.inNativeImage()) {
+                objectMapper.registerModule(new BlackbirdModule());
+            }
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.dto.response.PageResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image build ({@code mvn -Pnative native:compile}).
+ * Registrars run at build time on the JVM, so entities and DTOs are found by classpath scanning
+ * instead of being listed by hand.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BankcardsRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class BankcardsRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Lombok-generated accessors and constructors on entities
+            for (Class<?> type : scan("com.example.bankcards.entity", classLoader)) {
+                hints.reflection().registerType(type,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            // Jackson binding for request/response DTOs. Controllers wrap pages in PageResponse
+            // rather than serializing Spring Data's PageImpl, so that envelope is what needs binding.
+            BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+            for (Class<?> type : scan("com.example.bankcards.dto", classLoader)) {
+                bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+            }
+            bindingRegistrar.registerReflectionHints(hints.reflection(), PageResponse.class);
+
+            // jjwt loads its implementation and the Jackson (de)serializer reflectively
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Liquibase changelogs
+            hints.resources().registerPattern("db/changelog/*.yml");
+            hints.resources().registerPattern("db/changelog/migrations/*.yml");
+
+            // Second-level cache regions
+            hints.resources().registerPattern("ehcache.xml");
+
+            // springdoc / swagger-ui static assets
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        }
+
+        private List<Class<?>> scan(String basePackage, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return true; // include enums, nested and abstract types
+                }
+            };
+            scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+            List<Class<?>> types = new ArrayList<>();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+            return types;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Duration idleTimeout = Duration.ofMinutes(10); // buckets full for this long are evicted
+
+    private List<Rule> rules = new ArrayList<>(); // first matching rule wins
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String pattern; // Ant-style path pattern
+        private String method; // optional HTTP method, any when empty
+        private long capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
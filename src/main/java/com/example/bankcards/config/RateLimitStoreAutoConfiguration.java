@@ -0,0 +1,22 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.security.ratelimit.InMemoryRateLimitStore;
+import com.example.bankcards.security.ratelimit.RateLimitStore;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Falls back to the in-memory {@link RateLimitStore}. Declared as an auto-configuration, and so
+ * left out of component scanning, because only then is the condition evaluated after every
+ * application {@code @Configuration} and a shared store bean reliably replaces this one.
+ */
+@AutoConfiguration
+public class RateLimitStoreAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public InMemoryRateLimitStore rateLimitStore(RateLimitProperties properties) {
+        return new InMemoryRateLimitStore(properties);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.risk")
+public class RiskProperties {
+
+    private boolean enabled = true;
+
+    private Duration budget = Duration.ofMillis(2); // time the inline check may take before the failure policy applies
+
+    private FailurePolicy onBudgetExceeded = FailurePolicy.OPEN;
+
+    private int reviewScore = 50; // at or above: allowed, then re-scored asynchronously after commit
+
+    private int declineScore = 90; // at or above: refused before commit
+
+    private int autoBlockScore = 80; // asynchronous score at which a block request is filed for the card
+
+    private int maxProfiles = 100_000; // cards with feature state in memory
+
+    private Duration profileIdleTtl = Duration.ofHours(24);
+
+    private double spikeFactor = 4.0; // standard deviations above a card's usual amount
+
+    private int spikeMinSamples = 5;
+
+    private Duration burstWindow = Duration.ofMinutes(1);
+
+    private int burstCount = 10; // movements within burst-window, including the one being checked; at most 32
+
+    private int asyncWorkers = 2;
+
+    private int asyncQueueCapacity = 10_000; // further submissions are dropped and counted
+
+    public enum FailurePolicy {
+        OPEN, // allow the operation
+        CLOSED // refuse it
+    }
+}
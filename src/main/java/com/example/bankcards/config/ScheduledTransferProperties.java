@@ -0,0 +1,33 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.scheduled-transfers")
+public class ScheduledTransferProperties {
+
+    private boolean enabled = true;
+
+    private int workers = 4; // poller threads on this node, each owns a disjoint slice of shards
+
+    private int nodeIndex = 0; // this replica's position among node-count; overlap is safe, only less efficient
+
+    private int nodeCount = 1;
+
+    private Duration pollInterval = Duration.ofSeconds(1); // jittered by ±20% per poll
+
+    private int batchSize = 100;
+
+    private Duration claimLease = Duration.ofMinutes(1); // claimed rows return to the pool if a node dies mid-batch
+
+    private int maxAttempts = 5;
+
+    private Duration retryBackoff = Duration.ofMinutes(1); // doubled per failed attempt, with jitter
+
+    private Duration maxRetryBackoff = Duration.ofHours(1);
+}
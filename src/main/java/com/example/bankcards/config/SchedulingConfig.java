@@ -0,0 +1,15 @@
+package com.example.bankcards.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on the {@code @Scheduled} jobs: rate limit bucket eviction, FX rate refresh, shard
+ * consolidation, the statement cron, statistics refresh, the pending block count, spending
+ * window eviction and spend log purge, and the risk feature sweep. They share the pool sized by
+ * {@code spring.task.scheduling.pool.size}, so a slow refresh or purge does not hold up the rest.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
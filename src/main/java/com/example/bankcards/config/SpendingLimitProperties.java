@@ -0,0 +1,27 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.limits")
+public class SpendingLimitProperties {
+
+    private boolean enabled = true;
+
+    // Per card, in the card's currency; a card's own limits override these. Unset means no limit.
+    private BigDecimal cardDaily;
+
+    private BigDecimal cardMonthly;
+
+    // Per user across all their cards, in app.fx.default-currency. Unset means no limit.
+    private BigDecimal userDaily;
+
+    private BigDecimal userMonthly;
+
+    private boolean seedOnStartup = true; // load the last 30 days of spend for all cards at startup instead of on first use
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.statements")
+public class StatementProperties {
+
+    private boolean enabled = true; // monthly run on the cron; manual runs work either way
+
+    private String directory = "statements"; // local file store, one CSV per user and month
+
+    private int partitions = 16; // users are split by id modulo this; fixed per run when the run is created
+
+    private int workers = 2; // threads on this node, each holding at most one connection
+
+    private int chunkSize = 100; // users per checkpoint
+
+    private int fetchSize = 500; // ledger entries per keyset page
+
+    private Duration chunkPause = Duration.ofMillis(20); // gives the pool back to request traffic between chunks
+
+    private Duration claimLease = Duration.ofMinutes(5); // a partition left by a dead node is picked up after this
+}
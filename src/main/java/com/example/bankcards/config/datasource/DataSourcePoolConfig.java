@@ -0,0 +1,67 @@
+package com.example.bankcards.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Sizes the Hikari pool from the machine and the expected concurrency, and wraps it in a
+ * {@link MonitoredDataSource} so request handling can shed load when the pool saturates.
+ * An explicit {@code spring.datasource.hikari.maximum-pool-size} always wins.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourcePoolConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    @Bean
+    static BeanPostProcessor hikariPoolTuner(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                if (!environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    DataSourcePoolProperties properties = Binder.get(environment)
+                            .bind("app.datasource", DataSourcePoolProperties.class)
+                            .orElseGet(DataSourcePoolProperties::new);
+                    int size = poolSize(Runtime.getRuntime().availableProcessors(), properties);
+                    hikari.setMaximumPoolSize(size);
+                    hikari.setMinimumIdle(size);
+                    log.info("Connection pool sized to {} connections", size);
+                }
+                return new MonitoredDataSource(hikari);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionAcquireWaitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof MonitoredDataSource monitored) {
+                Gauge.builder("bank.datasource.acquire.wait.average", monitored, MonitoredDataSource::getAverageAcquireWaitMillis)
+                        .description("Time-decayed average wait for a pooled connection")
+                        .baseUnit("milliseconds")
+                        .register(registry);
+            }
+        };
+    }
+
+    // (cores * 2) + spindles, never more connections than requests that could use them
+    static int poolSize(int cores, DataSourcePoolProperties properties) {
+        int byHardware = cores * 2 + properties.getEffectiveSpindleCount();
+        return Math.max(2, Math.min(byHardware, properties.getExpectedConcurrency()));
+    }
+}
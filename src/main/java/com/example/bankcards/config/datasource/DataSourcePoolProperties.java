@@ -0,0 +1,28 @@
+package com.example.bankcards.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourcePoolProperties {
+
+    private int expectedConcurrency = 32; // concurrent DB-bound requests the pool should serve
+
+    private int effectiveSpindleCount = 1; // added to 2 x cores when sizing the pool
+
+    private Shedding shedding = new Shedding();
+
+    @Getter
+    @Setter
+    public static class Shedding {
+        private boolean enabled = true;
+        private Duration maxAcquireWait = Duration.ofMillis(250); // decayed average wait for a connection
+        private int maxPending = 32; // threads already queued for a connection
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
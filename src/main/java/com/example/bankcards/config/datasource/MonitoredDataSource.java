@@ -0,0 +1,105 @@
+package com.example.bankcards.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps the Hikari pool and keeps a time-decayed average of how long callers wait
+ * for a connection. The average halves every second without new samples, so it
+ * recovers on its own once traffic is shed.
+ * <p>
+ * Acquiring a connection only adds to two {@link LongAdder}s, so the wrapper never puts a lock
+ * in front of the pool. Readers fold the accumulated samples into the average at most once per
+ * {@link #FOLD_INTERVAL_NANOS}; whichever reader wins the CAS does the fold, the others read the
+ * last value. Closing the wrapper closes the pool, which keeps Spring's inferred destroy method.
+ */
+public class MonitoredDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final double HALF_LIFE_NANOS = 1_000_000_000d;
+
+    static final long FOLD_INTERVAL_NANOS = 100_000_000L;
+
+    private static final double FOLD_WEIGHT = 0.5; // weight of the latest interval's mean wait
+
+    private final HikariDataSource hikariDataSource;
+
+    private final LongAdder pendingWaitNanos = new LongAdder();
+
+    private final LongAdder pendingSamples = new LongAdder();
+
+    private final AtomicLong lastFoldNanos;
+
+    private volatile double averageWaitNanos;
+
+    public MonitoredDataSource(HikariDataSource hikariDataSource) {
+        super(hikariDataSource);
+        this.hikariDataSource = hikariDataSource;
+        this.lastFoldNanos = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public double getAverageAcquireWaitMillis() {
+        return averageWaitNanos(System.nanoTime()) / 1_000_000d;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+    }
+
+    public HikariDataSource getHikariDataSource() {
+        return hikariDataSource;
+    }
+
+    @Override
+    public void close() {
+        hikariDataSource.close();
+    }
+
+    void record(long waitNanos) {
+        pendingWaitNanos.add(waitNanos);
+        pendingSamples.increment();
+    }
+
+    double averageWaitNanos(long now) {
+        long last = lastFoldNanos.get();
+        if (now - last >= FOLD_INTERVAL_NANOS && lastFoldNanos.compareAndSet(last, now)) {
+            fold(now - last);
+        }
+        return averageWaitNanos;
+    }
+
+    // Only the CAS winner gets here; a sample landing between the two resets is at worst counted in the next interval
+    private void fold(long elapsedNanos) {
+        long samples = pendingSamples.sumThenReset();
+        long waitNanos = pendingWaitNanos.sumThenReset();
+        double decayed = averageWaitNanos * Math.pow(0.5, elapsedNanos / HALF_LIFE_NANOS);
+        averageWaitNanos = samples > 0 ? decayed + FOLD_WEIGHT * ((double) waitNanos / samples - decayed) : decayed;
+    }
+}
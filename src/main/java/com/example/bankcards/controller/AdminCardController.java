@@ -0,0 +1,96 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.request.BulkCardIssueRequest;
+import com.example.bankcards.dto.request.CardLimitsRequest;
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.CardIssuanceJobResponse;
+import com.example.bankcards.dto.response.CardLimitsResponse;
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.service.CardIssuanceService;
+import com.example.bankcards.service.CardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/cards")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("@access.isAdmin(principal)")
+@Tag(name = "Admin Card Management", description = "Bulk card operations (Admin only)")
+public class AdminCardController {
+
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    private final CardIssuanceService cardIssuanceService;
+
+    private final CardService cardService;
+
+    public AdminCardController(CardIssuanceService cardIssuanceService, CardService cardService) {
+        this.cardIssuanceService = cardIssuanceService;
+        this.cardService = cardService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List all cards by id, streamed page by page (Admin only)")
+    public ResponseEntity<StreamingResponseBody> listCards(
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        StreamingResponseBody body = out -> cardService.writeCardPage(out, cursor, pageSize, includeTotal);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @PutMapping("/{id}/balance-shards")
+    @Operation(summary = "Spread a hot card's balance over sub-balance shards, 0 to merge them back (Admin only)")
+    public ResponseEntity<ApiResponse<CardResponse>> setBalanceShards(
+            @PathVariable Long id,
+            @RequestParam int count,
+            @AuthenticationPrincipal User currentUser) {
+        CardResponse card = cardService.setBalanceShards(id, count, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Card balance sharding updated", card));
+    }
+
+    @PutMapping("/{id}/limits")
+    @Operation(summary = "Set a card's daily and monthly spending limits, null for the default (Admin only)")
+    public ResponseEntity<ApiResponse<CardLimitsResponse>> setCardLimits(
+            @PathVariable Long id,
+            @Valid @RequestBody CardLimitsRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        CardLimitsResponse limits = cardService.setCardLimits(id, request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Card limits updated", limits));
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Start a bulk card issuance job (Admin only)")
+    public ResponseEntity<ApiResponse<CardIssuanceJobResponse>> issueCards(
+            @Valid @RequestBody BulkCardIssueRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        CardIssuanceJobResponse job = cardIssuanceService.submit(request, currentUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Card issuance job started", job));
+    }
+
+    @GetMapping("/bulk/{id}")
+    @Operation(summary = "Get bulk card issuance job progress (Admin only)")
+    public ResponseEntity<ApiResponse<CardIssuanceJobResponse>> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(cardIssuanceService.getJob(id)));
+    }
+
+    @PostMapping("/bulk/{id}/resume")
+    @Operation(summary = "Resume a failed or interrupted bulk card issuance job (Admin only)")
+    public ResponseEntity<ApiResponse<CardIssuanceJobResponse>> resumeJob(@PathVariable Long id) {
+        CardIssuanceJobResponse job = cardIssuanceService.resume(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Card issuance job resumed", job));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("@access.isAdmin(principal)")
+@Tag(name = "Admin Export", description = "Bulk export of cards and transfers (Admin only)")
+public class AdminExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    public AdminExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/cards")
+    @Operation(summary = "Stream all cards as CSV or NDJSON, resumable by id (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @RequestParam(defaultValue = "CSV") ExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean unmasked,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            exportService.exportCards(target, format, unmasked, afterId);
+            target.flush();
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+        return buildResponse(body, "cards", format, gzip);
+    }
+
+    @GetMapping("/transfers")
+    @Operation(summary = "Stream all transfers as CSV or NDJSON, resumable by id (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportTransfers(
+            @RequestParam(defaultValue = "CSV") ExportService.Format format,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            exportService.exportTransfers(target, format, afterId);
+            target.flush();
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+        return buildResponse(body, "transfers", format, gzip);
+    }
+
+    private ResponseEntity<StreamingResponseBody> buildResponse(StreamingResponseBody body, String name, ExportService.Format format, boolean gzip) {
+        String extension = format == ExportService.Format.NDJSON ? "ndjson" : "csv";
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format == ExportService.Format.NDJSON ? NDJSON : new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + extension + "\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return builder.body(body);
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
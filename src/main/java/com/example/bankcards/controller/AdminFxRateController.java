@@ -0,0 +1,45 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.request.FxRateRequest;
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.FxRateResponse;
+import com.example.bankcards.service.FxRateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/fx-rates")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("@access.isAdmin(principal)")
+@Tag(name = "Admin Exchange Rates", description = "Exchange rates for cross-currency transfers (Admin only)")
+public class AdminFxRateController {
+
+    private final FxRateService fxRateService;
+
+    public AdminFxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List stored exchange rates (Admin only)")
+    public ResponseEntity<ApiResponse<List<FxRateResponse>>> getRates() {
+        return ResponseEntity.ok(ApiResponse.success(fxRateService.getRates()));
+    }
+
+    @PutMapping("/{base}/{quote}")
+    @Operation(summary = "Set the rate from base to quote currency, in units of quote per unit of base (Admin only)")
+    public ResponseEntity<ApiResponse<FxRateResponse>> setRate(
+            @PathVariable String base,
+            @PathVariable String quote,
+            @Valid @RequestBody FxRateRequest request) {
+        FxRateResponse rate = fxRateService.setRate(base, quote, request.getRate());
+        return ResponseEntity.ok(ApiResponse.success("Exchange rate updated", rate));
+    }
+}
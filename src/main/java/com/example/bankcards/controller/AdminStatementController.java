@@ -0,0 +1,42 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.StatementRunResponse;
+import com.example.bankcards.service.StatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/admin/statements")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("@access.isAdmin(principal)")
+@Tag(name = "Admin Statements", description = "Monthly statement runs (Admin only)")
+public class AdminStatementController {
+
+    private final StatementService statementService;
+
+    public AdminStatementController(StatementService statementService) {
+        this.statementService = statementService;
+    }
+
+    @PostMapping("/{period}")
+    @Operation(summary = "Start or resume the statement run for a completed month, e.g. 2025-01 (Admin only)")
+    public ResponseEntity<ApiResponse<StatementRunResponse>> start(
+            @PathVariable YearMonth period,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        StatementRunResponse run = statementService.start(period, restart);
+        return ResponseEntity.ok(ApiResponse.success("Statement run started", run));
+    }
+
+    @GetMapping("/{period}")
+    @Operation(summary = "Get the progress of a month's statement run (Admin only)")
+    public ResponseEntity<ApiResponse<StatementRunResponse>> getRun(@PathVariable YearMonth period) {
+        return ResponseEntity.ok(ApiResponse.success(statementService.getRun(period)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.BalanceStatsResponse;
+import com.example.bankcards.dto.response.StatsResponse;
+import com.example.bankcards.dto.response.TransferVolumeResponse;
+import com.example.bankcards.dto.response.UserCardStatsResponse;
+import com.example.bankcards.service.StatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("@access.isAdmin(principal)")
+@Tag(name = "Admin Statistics", description = "Precomputed totals over cards and transfers (Admin only)")
+public class AdminStatsController {
+
+    private final StatsService statsService;
+
+    public AdminStatsController(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping("/balances")
+    @Operation(summary = "Card count and total balance by status and currency (Admin only)")
+    public ResponseEntity<ApiResponse<StatsResponse<BalanceStatsResponse>>> getBalances() {
+        return ResponseEntity.ok(ApiResponse.success(statsService.getBalances()));
+    }
+
+    @GetMapping("/transfers/daily")
+    @Operation(summary = "Completed transfer count and amount per day and source currency, last 30 days by default (Admin only)")
+    public ResponseEntity<ApiResponse<StatsResponse<TransferVolumeResponse>>> getTransferVolume(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(statsService.getTransferVolume(from, to)));
+    }
+
+    @GetMapping("/active-cards")
+    @Operation(summary = "Users with the most active cards (Admin only)")
+    public ResponseEntity<ApiResponse<StatsResponse<UserCardStatsResponse>>> getTopUsersByActiveCards(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(statsService.getTopUsersByActiveCards(limit)));
+    }
+
+    @GetMapping("/active-cards/{userId}")
+    @Operation(summary = "Active and total cards of one user (Admin only)")
+    public ResponseEntity<ApiResponse<StatsResponse<UserCardStatsResponse>>> getUserCardStats(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(statsService.getUserCardStats(userId)));
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.request.CardBlockDecisionRequest;
 import com.example.bankcards.dto.request.CardBlockRequest;
 import com.example.bankcards.dto.request.CardCreateRequest;
 import com.example.bankcards.dto.request.CreditDebitRequest;
 import com.example.bankcards.dto.request.TransferRequest;
 import com.example.bankcards.dto.response.ApiResponse;
 import com.example.bankcards.dto.response.CardBlockResponse;
+import com.example.bankcards.dto.response.CardLimitsResponse;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.dto.response.TransferResponse;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardBlockStatus;
 import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.service.CardBlockService;
 import com.example.bankcards.service.CardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,10 +26,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/cards")
@@ -32,10 +44,16 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Card Management", description = "Card management operations")
 public class CardController {
 
+    // Clients may keep responses but must revalidate them with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final CardService cardService;
 
-    public CardController(CardService cardService) {
+    private final CardBlockService cardBlockService;
+
+    public CardController(CardService cardService, CardBlockService cardBlockService) {
         this.cardService = cardService;
+        this.cardBlockService = cardBlockService;
     }
 
     @PostMapping
@@ -56,7 +74,7 @@ public class CardController {
 
     @GetMapping
     @Operation(summary = "Get cards with pagination and filtering")
-    public ResponseEntity<ApiResponse<Page<CardResponse>>> getCards(
+    public ResponseEntity<ApiResponse<PageResponse<CardResponse>>> getCards(
             @AuthenticationPrincipal User currentUser,
             @RequestParam(required = false) String cardNumber,
             @RequestParam(required = false) CardStatus status,
@@ -65,20 +83,37 @@ public class CardController {
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<CardResponse>  cards = cardService.getCards(currentUser, userId, cardNumber, status, pageable);
-        return ResponseEntity.ok(ApiResponse.success(cards));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(PageResponse.of(cards)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get card by ID")
     public ResponseEntity<ApiResponse<CardResponse>> getCardById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal User currentUser,
+            WebRequest webRequest) {
+        String eTag = cardService.getCardETag(id, currentUser);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         CardResponse card = cardService.getCardById(id, currentUser);
-        return ResponseEntity.ok(ApiResponse.success(card));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.body(ApiResponse.success(card));
+    }
+
+    @GetMapping("/{id}/limits")
+    @Operation(summary = "Get a card's spending limits and what was spent against them")
+    public ResponseEntity<ApiResponse<CardLimitsResponse>> getCardLimits(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ApiResponse.success(cardService.getCardLimits(id, currentUser)));
     }
 
     @PutMapping("/{id}/block")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Block a card (Admin only)")
     public ResponseEntity<ApiResponse<CardResponse>> blockCard(
             @PathVariable Long id,
@@ -88,7 +123,7 @@ public class CardController {
     }
 
     @PutMapping("/{id}/activate")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Activate a card (Admin only)")
     public ResponseEntity<ApiResponse<CardResponse>> activateCard(
             @PathVariable Long id,
@@ -98,7 +133,7 @@ public class CardController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Delete a card (Admin only)")
     public ResponseEntity<ApiResponse<Void>> deleteCard(
             @PathVariable Long id,
@@ -117,7 +152,7 @@ public class CardController {
     }
 
     @PostMapping("/credit")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Credit funds to a card (Admin only)")
     public ResponseEntity<ApiResponse<CardResponse>> creditCard(
             @Valid @RequestBody CreditDebitRequest request,
@@ -140,14 +175,50 @@ public class CardController {
     public ResponseEntity<ApiResponse<CardBlockResponse>> cardBlockRequest(
             @Valid @RequestBody CardBlockRequest request,
             @AuthenticationPrincipal User currentUser) {
-        CardBlockResponse cardBlockResponse = cardService.createCardBlockRequest(request, currentUser);
+        CardBlockResponse cardBlockResponse = cardBlockService.createRequest(request, currentUser);
         return ResponseEntity.ok(ApiResponse.success("Card block request created successfully", cardBlockResponse));
     }
 
     @GetMapping("/block/request")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Get all card block requests with pagination and filtering (Admin only)")
-    public ResponseEntity<ApiResponse<Page<CardBlockResponse>>> getCardBlockRequests(Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success(cardService.getCardBlocks(pageable)));
+    public ResponseEntity<ApiResponse<PageResponse<CardBlockResponse>>> getCardBlockRequests(
+            @RequestParam(required = false) CardBlockStatus status,
+            @Parameter(description = "Created at or after (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Created before (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @PageableDefault(sort = {"createdAt", "id"}) Pageable pageable) {
+        Page<CardBlockResponse> requests = cardBlockService.getRequests(status, createdFrom, createdTo, pageable);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(PageResponse.of(requests)));
+    }
+
+    @PostMapping("/block/request/claim")
+    @PreAuthorize("@access.isAdmin(principal)")
+    @Operation(summary = "Claim the oldest unclaimed pending block request for review (Admin only)")
+    public ResponseEntity<ApiResponse<CardBlockResponse>> claimCardBlockRequest(@AuthenticationPrincipal User currentUser) {
+        return cardBlockService.claimNext(currentUser)
+                .map(claimed -> ResponseEntity.ok(ApiResponse.success("Card block request claimed", claimed)))
+                .orElseGet(() -> ResponseEntity.ok(ApiResponse.success("No card block requests waiting", null)));
+    }
+
+    @PostMapping("/block/request/{id}/release")
+    @PreAuthorize("@access.isAdmin(principal)")
+    @Operation(summary = "Return a claimed block request to the queue (Admin only)")
+    public ResponseEntity<ApiResponse<CardBlockResponse>> releaseCardBlockRequest(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        CardBlockResponse released = cardBlockService.release(id, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Card block request released", released));
+    }
+
+    @PostMapping("/block/request/resolve")
+    @PreAuthorize("@access.isAdmin(principal)")
+    @Operation(summary = "Approve or reject block requests in one transaction (Admin only)")
+    public ResponseEntity<ApiResponse<List<CardBlockResponse>>> resolveCardBlockRequests(
+            @Valid @RequestBody CardBlockDecisionRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        List<CardBlockResponse> resolved = cardBlockService.resolve(request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Card block requests resolved", resolved));
     }
 }
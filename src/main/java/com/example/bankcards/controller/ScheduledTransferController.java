@@ -0,0 +1,55 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.request.ScheduledTransferRequest;
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.ScheduledTransferResponse;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.service.ScheduledTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cards/transfers/scheduled")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Scheduled Transfers", description = "Future-dated and recurring transfers")
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService) {
+        this.scheduledTransferService = scheduledTransferService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Schedule a one-off or recurring transfer")
+    public ResponseEntity<ApiResponse<ScheduledTransferResponse>> schedule(
+            @Valid @RequestBody ScheduledTransferRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        ScheduledTransferResponse scheduled = scheduledTransferService.schedule(request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Transfer scheduled successfully", scheduled));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get own scheduled transfers with pagination")
+    public ResponseEntity<ApiResponse<PageResponse<ScheduledTransferResponse>>> getScheduledTransfers(
+            @AuthenticationPrincipal User currentUser,
+            Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(scheduledTransferService.getScheduledTransfers(currentUser, pageable))));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a scheduled transfer")
+    public ResponseEntity<ApiResponse<ScheduledTransferResponse>> cancel(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        ScheduledTransferResponse cancelled = scheduledTransferService.cancel(id, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Scheduled transfer cancelled", cancelled));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.service.StatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/cards/statements")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Statements", description = "Monthly account statements")
+public class StatementController {
+
+    private final StatementService statementService;
+
+    public StatementController(StatementService statementService) {
+        this.statementService = statementService;
+    }
+
+    @GetMapping("/{period}")
+    @Operation(summary = "Download own statement for a month, e.g. 2025-01, as CSV")
+    public ResponseEntity<Resource> getStatement(
+            @PathVariable YearMonth period,
+            @AuthenticationPrincipal User currentUser) {
+        FileSystemResource statement = new FileSystemResource(statementService.getStatement(currentUser, period));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement-" + period + ".csv\"")
+                .body(statement);
+    }
+}
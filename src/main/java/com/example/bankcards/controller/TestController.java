@@ -22,7 +22,7 @@ public class TestController {
     }
 
     @GetMapping("/admin")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     public String adminAccess() {
         return "Admin Board.";
     }
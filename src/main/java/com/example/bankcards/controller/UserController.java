@@ -2,6 +2,7 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.request.RegisterRequest;
 import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.service.UserService;
@@ -12,10 +13,12 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -23,6 +26,9 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User Management", description = "User management operations")
 public class UserController {
 
+    // Clients may keep responses but must revalidate them with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -30,9 +36,9 @@ public class UserController {
     }
 
     @GetMapping
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Get users with filtering and pagination (Admin only)")
-    public ResponseEntity<ApiResponse<Page<UserResponse>>> getAllUsers(
+    public ResponseEntity<ApiResponse<PageResponse<UserResponse>>> getAllUsers(
             @AuthenticationPrincipal User currentUser,
             @RequestParam(required = false) String username,
             @RequestParam(required = false) String firstName,
@@ -41,20 +47,25 @@ public class UserController {
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<UserResponse> users = userService.getUsers(currentUser, username, firstName, lastName, pageable);
-        return ResponseEntity.ok(ApiResponse.success(users));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(PageResponse.of(users)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal User currentUser,
+            WebRequest webRequest) {
+        String eTag = userService.getUserETag(id, currentUser);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         UserResponse user = userService.getUserById(id, currentUser);
-        return ResponseEntity.ok(ApiResponse.success(user));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(eTag).body(ApiResponse.success(user));
     }
 
     @PostMapping
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Create new user (Admin only)")
     public ResponseEntity<ApiResponse<UserResponse>> createUser(
             @Valid @RequestBody RegisterRequest request,
@@ -74,7 +85,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole(T(com.example.bankcards.entity.enums.Role).ROLE_ADMIN.name())")
+    @PreAuthorize("@access.isAdmin(principal)")
     @Operation(summary = "Delete user (Admin only)")
     public ResponseEntity<ApiResponse<Void>> deleteUser(
             @PathVariable Long id,
@@ -0,0 +1,32 @@
+package com.example.bankcards.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCardIssueRequest {
+
+    @NotEmpty(message = "Owner IDs are required")
+    @Size(max = 100000, message = "At most 100000 cards can be issued per job")
+    private List<Long> ownerIds; // One card is issued per entry
+
+    @Future(message = "Expiry date must be in the future")
+    private LocalDate expiryDate;
+
+    @DecimalMin(value = "0.0", message = "Initial balance cannot be negative")
+    private BigDecimal initialBalance;
+
+}
@@ -0,0 +1,26 @@
+package com.example.bankcards.dto.request;
+
+import com.example.bankcards.entity.enums.CardBlockStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardBlockDecisionRequest {
+
+    @NotEmpty(message = "Request IDs are required")
+    @Size(max = 500, message = "At most 500 requests can be resolved at once")
+    private List<Long> ids;
+
+    @NotNull(message = "Decision is required")
+    private CardBlockStatus decision; // APPROVED or REJECTED
+}
@@ -2,6 +2,7 @@ package com.example.bankcards.dto.request;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -24,4 +25,7 @@ public class CardCreateRequest {
     @DecimalMin(value = "0.0", message = "Initial balance cannot be negative")
     private BigDecimal initialBalance;
 
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+    private String currency; // Defaults to app.fx.default-currency
+
 }
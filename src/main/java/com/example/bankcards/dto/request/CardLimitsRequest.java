@@ -0,0 +1,24 @@
+package com.example.bankcards.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardLimitsRequest {
+
+    // Null falls back to the configured default for the card
+    @DecimalMin(value = "0.01", message = "Daily limit must be positive")
+    private BigDecimal dailyLimit;
+
+    @DecimalMin(value = "0.01", message = "Monthly limit must be positive")
+    private BigDecimal monthlyLimit;
+
+}
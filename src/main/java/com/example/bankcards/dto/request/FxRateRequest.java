@@ -0,0 +1,24 @@
+package com.example.bankcards.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FxRateRequest {
+
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0", inclusive = false, message = "Rate must be positive")
+    @Digits(integer = 11, fraction = 8, message = "Rate must have at most 11 integer and 8 decimal digits")
+    private BigDecimal rate;
+
+}
@@ -0,0 +1,42 @@
+package com.example.bankcards.dto.request;
+
+import com.example.bankcards.entity.enums.TransferFrequency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransferRequest {
+
+    @NotNull(message = "Source card ID is required")
+    private Long fromCardId;
+
+    @NotNull(message = "Destination card ID is required")
+    private Long toCardId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Transfer amount must be positive")
+    private BigDecimal amount;
+
+    private String description;
+
+    @NotNull(message = "Frequency is required")
+    private TransferFrequency frequency;
+
+    @FutureOrPresent(message = "First run must not be in the past")
+    private LocalDateTime firstRunAt; // now when empty
+
+    private LocalDate endDate; // last day a recurring transfer may run, open-ended when empty
+
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto.response;
+
+import com.example.bankcards.entity.enums.CardStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BalanceStatsResponse {
+    private CardStatus status;
+    private String currency;
+    private long cards;
+    private BigDecimal totalBalance;
+}
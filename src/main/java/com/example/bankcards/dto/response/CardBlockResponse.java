@@ -14,9 +14,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class CardBlockResponse {
     private Long id;
+    private Long cardId;
     private String cardMasked;
     private CardBlockStatus status;
     private String description;
     private LocalDateTime createdAt;
+    private Long claimedBy;
+    private LocalDateTime claimedAt;
+    private Long resolvedBy;
+    private LocalDateTime resolvedAt;
 
 }
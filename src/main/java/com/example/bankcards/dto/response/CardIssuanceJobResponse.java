@@ -0,0 +1,27 @@
+package com.example.bankcards.dto.response;
+
+import com.example.bankcards.entity.enums.CardIssuanceJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardIssuanceJobResponse {
+    private Long id;
+    private CardIssuanceJobStatus status;
+    private int total;
+    private int processed;
+    private int issued;
+    private int skipped;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+}
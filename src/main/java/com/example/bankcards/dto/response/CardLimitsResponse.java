@@ -0,0 +1,19 @@
+package com.example.bankcards.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CardLimitsResponse {
+    private Long cardId;
+    private String currency;
+    private BigDecimal dailyLimit; // null means no limit
+    private BigDecimal dailySpent; // last 24 hours
+    private BigDecimal monthlyLimit;
+    private BigDecimal monthlySpent; // last 30 days
+}
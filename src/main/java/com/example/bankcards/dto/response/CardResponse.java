@@ -20,6 +20,7 @@ public class CardResponse {
     private LocalDate expiryDate;
     private CardStatus status;
     private BigDecimal balance;
+    private String currency;
     private LocalDateTime createdAt;
 
 }
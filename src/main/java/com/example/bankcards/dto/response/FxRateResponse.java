@@ -0,0 +1,18 @@
+package com.example.bankcards.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FxRateResponse {
+    private String baseCurrency;
+    private String quoteCurrency;
+    private BigDecimal rate;
+    private LocalDateTime updatedAt;
+}
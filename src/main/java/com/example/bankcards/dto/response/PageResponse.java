@@ -0,0 +1,38 @@
+package com.example.bankcards.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Compact, stable page envelope. {@code nextCursor} is passed back to fetch the following
+ * page and is null on the last one; {@code total} is left out when it was not counted.
+ * <p>
+ * What the cursor means depends on how the listing pages. Offset-paged listings built by
+ * {@link #of(Page)} return the next page number, which goes back in the {@code page} query
+ * parameter. Keyset-paged listings (the streamed admin card list and the reactive server)
+ * return the last id of the page, which goes back in {@code cursor}. The two are not
+ * interchangeable.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    // Offset paging: the cursor is the next page number, sent back as ?page=
+    public static <T> PageResponse<T> of(Page<T> page) {
+        String nextCursor = page.hasNext() ? String.valueOf(page.getNumber() + 1) : null;
+        return new PageResponse<>(page.getContent(), nextCursor, page.getTotalElements());
+    }
+}
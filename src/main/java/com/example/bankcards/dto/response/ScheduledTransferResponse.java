@@ -0,0 +1,30 @@
+package com.example.bankcards.dto.response;
+
+import com.example.bankcards.entity.enums.ScheduledTransferStatus;
+import com.example.bankcards.entity.enums.TransferFrequency;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduledTransferResponse {
+    private Long id;
+    private String fromCardMasked;
+    private String toCardMasked;
+    private BigDecimal amount;
+    private String description;
+    private TransferFrequency frequency;
+    private ScheduledTransferStatus status;
+    private LocalDateTime nextRunAt;
+    private LocalDate endDate;
+    private int attempts;
+    private String lastError;
+    private Long lastTransferId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatementRunResponse {
+    private YearMonth period;
+    private String status;
+    private int partitions;
+    private int completedPartitions;
+    private long statements;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.bankcards.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatsResponse<T> {
+    private LocalDateTime refreshedAt; // null until the first refresh
+    private List<T> items;
+}
@@ -16,6 +16,8 @@ public class TransferResponse {
     private String fromCardMasked;
     private String toCardMasked;
     private BigDecimal amount;
+    private BigDecimal convertedAmount; // null unless the cards' currencies differ
+    private BigDecimal fxRate;
     private TransferStatus status;
     private String description;
     private LocalDateTime processedAt;
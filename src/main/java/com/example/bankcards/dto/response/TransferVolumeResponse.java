@@ -0,0 +1,18 @@
+package com.example.bankcards.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransferVolumeResponse {
+    private LocalDate day;
+    private String currency; // of the source cards
+    private long transfers;
+    private BigDecimal amount;
+}
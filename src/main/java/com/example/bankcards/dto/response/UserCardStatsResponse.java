@@ -0,0 +1,14 @@
+package com.example.bankcards.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserCardStatsResponse {
+    private Long userId;
+    private long activeCards;
+    private long totalCards;
+}
@@ -2,15 +2,16 @@ package com.example.bankcards.entity;
 
 import com.example.bankcards.entity.enums.CardStatus;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Currency;
 
 @Entity
 @Getter
@@ -28,6 +29,9 @@ public class Card {
     @Column(name = "card_number", nullable = false, unique = true, length = 500)
     private String cardNumber; // Encrypted card number
 
+    @Column(name = "card_number_hash", unique = true, length = 64)
+    private String cardNumberHash; // Blind index (HMAC) of the plain card number
+
     @Column(name = "masked_card_number", nullable = false, length = 19)
     private String maskedCardNumber; // **** **** **** 1234
 
@@ -44,9 +48,46 @@ public class Card {
     @Column(nullable = false)
     private CardStatus status = CardStatus.ACTIVE;
 
+    // Minor units (cents); see MinorUnits
     @Column(precision = 15, scale = 2)
-    @DecimalMin(value = "0.0", inclusive = true)
-    private BigDecimal balance = BigDecimal.ZERO;
+    @Convert(converter = MinorUnitsConverter.class)
+    @Min(0)
+    private long balance;
+
+    // Balance and all amounts moved from this card are in this currency
+    @Column(nullable = false, length = 3)
+    @NotNull
+    private Currency currency;
+
+    // Spending limits in minor units; null means the configured default
+    @Column(name = "daily_limit", precision = 15, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private Long dailyLimit;
+
+    @Column(name = "monthly_limit", precision = 15, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private Long monthlyLimit;
+
+    // 0 for ordinary cards; otherwise writes go to this many rows in card_balance_shards
+    @Column(name = "balance_shards", nullable = false)
+    private int balanceShards;
+
+    // Sum of the sub-balances in minor units, only queried for sharded cards
+    @Formula("CASE WHEN balance_shards = 0 THEN 0 ELSE COALESCE((SELECT CAST(SUM(s.amount_minor) AS BIGINT) FROM card_balance_shards s WHERE s.card_id = id), 0) END")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long shardedBalanceMinor;
+
+    // Set by the first write-behind credit; written only through JDBC, never by Hibernate
+    @Column(name = "journaled_credits", nullable = false, insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private boolean journaledCredits;
+
+    // Write-behind credits journaled but not yet flushed into the balance column, in minor units,
+    // only queried for cards that have taken write-behind credits
+    @Formula("CASE WHEN journaled_credits THEN COALESCE((SELECT SUM(j.amount_minor) FROM credit_journal j WHERE j.card_id = id), 0) ELSE 0 END")
+    @Setter(AccessLevel.NONE)
+    private long pendingCreditsMinor;
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -56,7 +97,11 @@ public class Card {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    public Card(String cardNumber, String maskedCardNumber, User owner, LocalDate expiryDate, BigDecimal balance) {
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public Card(String cardNumber, String maskedCardNumber, User owner, LocalDate expiryDate, long balance) {
         this.cardNumber = cardNumber;
         this.maskedCardNumber = maskedCardNumber;
         this.owner = owner;
@@ -64,6 +109,35 @@ public class Card {
         this.balance = balance;
     }
 
+    // Column plus sub-balances plus pending credits, in minor units; Hibernate uses field access and never sees this sum
+    public long getBalance() {
+        return MinorUnits.add(MinorUnits.add(balance, shardedBalanceMinor), pendingCreditsMinor);
+    }
+
+    // Changes the balance column only; getBalance() also counts sub-balances and pending credits
+    public void addToBalance(long delta) {
+        balance = MinorUnits.add(balance, delta);
+    }
+
+    public boolean isBalanceSharded() {
+        return balanceShards > 0;
+    }
+
+    // Keeps the loaded total in step with sub-balance writes made in the current transaction
+    public void applyShardDelta(long delta) {
+        shardedBalanceMinor = MinorUnits.add(shardedBalanceMinor, delta);
+    }
+
+    public void applyPendingCredit(long amountMinor) {
+        pendingCreditsMinor = MinorUnits.add(pendingCreditsMinor, amountMinor);
+    }
+
+    // Moves journaled credits drained in this transaction into the balance column
+    public void foldPendingCredits(long amountMinor) {
+        balance = MinorUnits.add(balance, amountMinor);
+        pendingCreditsMinor -= amountMinor;
+    }
+
     // Business methods
     public boolean isExpired() {
         if (expiryDate == null) {
@@ -76,6 +150,11 @@ public class Card {
         return status == CardStatus.ACTIVE && !isExpired();
     }
 
+    // Compares ids only, so a lazy owner proxy is never initialized
+    public boolean isOwnedBy(User user) {
+        return owner != null && user != null && user.getId() != null && user.getId().equals(owner.getId());
+    }
+
     public void updateStatus() {
         if (isExpired() && status == CardStatus.ACTIVE) {
             this.status = CardStatus.EXPIRED;
@@ -0,0 +1,63 @@
+package com.example.bankcards.entity;
+
+import com.example.bankcards.entity.enums.CardIssuanceJobStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "card_issuance_jobs")
+public class CardIssuanceJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "requested_by", nullable = false)
+    @NotNull
+    private Long requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CardIssuanceJobStatus status = CardIssuanceJobStatus.PENDING;
+
+    @Column(name = "expiry_date", nullable = false)
+    @NotNull
+    private LocalDate expiryDate;
+
+    @Column(name = "initial_balance", precision = 15, scale = 2, nullable = false)
+    private BigDecimal initialBalance = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private int processed;
+
+    @Column(nullable = false)
+    private int issued;
+
+    @Column(nullable = false)
+    private int skipped;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,64 @@
+package com.example.bankcards.entity;
+
+import com.example.bankcards.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money arithmetic on {@code long} minor units (cents). Amounts enter as {@link BigDecimal} from
+ * JSON and are converted once; everything after that is plain {@code long} math that fails
+ * instead of wrapping around on overflow.
+ */
+public final class MinorUnits {
+
+    /** Decimal places of the card currency, matching the {@code DECIMAL(15,2)} columns. */
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Converts a decimal amount to minor units. Rejects amounts with more decimal places than
+     * the currency has, rather than rounding them away.
+     */
+    public static long of(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Amount must have at most " + SCALE + " decimal places");
+        }
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Converts an amount at {@code rate} units of the target currency per unit of the source,
+     * rounding half-even to the nearest minor unit. Both currencies use {@link #SCALE}.
+     */
+    public static long convert(long minor, BigDecimal rate) {
+        try {
+            return BigDecimal.valueOf(minor).multiply(rate).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Amount out of range");
+        }
+    }
+
+    public static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Amount out of range");
+        }
+    }
+
+    public static long subtract(long a, long b) {
+        try {
+            return Math.subtractExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Amount out of range");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.entity;
+
+import com.example.bankcards.entity.enums.ScheduledTransferStatus;
+import com.example.bankcards.entity.enums.TransferFrequency;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "scheduled_transfers")
+public class ScheduledTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    @NotNull
+    private Long ownerId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_card_id", nullable = false)
+    @NotNull
+    private Card fromCard;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "to_card_id", nullable = false)
+    @NotNull
+    private Card toCard;
+
+    // Minor units (cents); see MinorUnits
+    @Column(precision = 15, scale = 2, nullable = false)
+    @Convert(converter = MinorUnitsConverter.class)
+    @Min(1)
+    private long amount;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransferFrequency frequency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduledTransferStatus status = ScheduledTransferStatus.ACTIVE;
+
+    @Column(nullable = false)
+    private int shard; // partitions due rows across scheduler workers, derived from the source card
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt; // occurrence being executed, the following one is computed from it
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt; // equals nextRunAt unless a failed attempt pushed the retry back
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "last_transfer_id")
+    private Long lastTransferId;
+
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
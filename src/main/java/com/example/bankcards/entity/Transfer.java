@@ -2,7 +2,7 @@ package com.example.bankcards.entity;
 
 import com.example.bankcards.entity.enums.TransferStatus;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -34,10 +34,20 @@ public class Transfer {
     @NotNull
     private Card toCard;
 
+    // Minor units (cents); see MinorUnits
     @Column(precision = 15, scale = 2, nullable = false)
-    @DecimalMin(value = "0.01")
-    @NotNull
-    private BigDecimal amount;
+    @Convert(converter = MinorUnitsConverter.class)
+    @Min(1)
+    private long amount;
+
+    // Credited to the destination card in its currency; null when both cards share a currency
+    @Column(name = "to_amount", precision = 15, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private Long toAmount;
+
+    // Units of the destination currency per unit of the source currency, from the rate snapshot used
+    @Column(name = "fx_rate", precision = 19, scale = 8)
+    private BigDecimal fxRate;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -49,7 +59,7 @@ public class Transfer {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
-    public Transfer(Card fromCard, Card toCard, BigDecimal amount, String description) {
+    public Transfer(Card fromCard, Card toCard, long amount, String description) {
         this.fromCard = fromCard;
         this.toCard = toCard;
         this.amount = amount;
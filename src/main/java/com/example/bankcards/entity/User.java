@@ -3,6 +3,8 @@ package com.example.bankcards.entity;
 import com.example.bankcards.entity.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,6 +18,8 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -54,17 +58,33 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Card> cards;
 
 
     //@ManyToMany(fetch = FetchType.EAGER)
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role_name")
     private Set<Role> roles = new HashSet<>();
 
+    // Derived from roles once per loaded principal, reset by setRoles
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer roleMask;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<GrantedAuthority> authorities;
+
     public User(String username, String email, String password, String firstName, String lastName, Set<Role> roles) {
         this.username = username;
         this.email = email;
@@ -74,11 +94,44 @@ public class User implements UserDetails {
         this.roles = roles;
     }
 
+    public void setRoles(Set<Role> roles) {
+        this.roles = roles;
+        this.roleMask = null;
+        this.authorities = null;
+    }
+
+    public boolean hasRole(Role role) {
+        return (roleMask() & role.mask()) != 0;
+    }
+
+    public boolean isAdmin() {
+        return hasRole(Role.ROLE_ADMIN);
+    }
+
+    private int roleMask() {
+        Integer mask = roleMask;
+        if (mask == null) {
+            int computed = 0;
+            if (roles != null) {
+                for (Role role : roles) {
+                    computed |= role.mask();
+                }
+            }
+            roleMask = mask = computed;
+        }
+        return mask;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.name()))
-                .toList();
+        List<GrantedAuthority> cached = authorities;
+        if (cached == null) {
+            cached = roles == null ? List.of() : roles.stream()
+                    .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.name()))
+                    .toList();
+            authorities = cached;
+        }
+        return cached;
     }
 
     @Override
@@ -0,0 +1,8 @@
+package com.example.bankcards.entity.enums;
+
+public enum CardIssuanceJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
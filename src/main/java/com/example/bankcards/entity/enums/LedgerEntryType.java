@@ -0,0 +1,8 @@
+package com.example.bankcards.entity.enums;
+
+public enum LedgerEntryType {
+    CREDIT,
+    DEBIT,
+    TRANSFER_OUT,
+    TRANSFER_IN
+}
@@ -2,5 +2,11 @@ package com.example.bankcards.entity.enums;
 
 public enum Role {
     ROLE_USER,
-    ROLE_ADMIN
-}
\ No newline at end of file
+    ROLE_ADMIN;
+
+    private final int mask = 1 << ordinal();
+
+    public int mask() {
+        return mask;
+    }
+}
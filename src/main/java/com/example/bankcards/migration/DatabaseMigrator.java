@@ -0,0 +1,37 @@
+package com.example.bankcards.migration;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Applies {@code db/changelog/changelog-master.yml} and exits. Starts only the
+ * DataSource and Liquibase auto-configurations, no web server, JPA or services.
+ * Run it once per deploy with {@code java -jar app.jar --migrate-only}.
+ */
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+public class DatabaseMigrator {
+
+    public static final String MIGRATE_ONLY_ARG = "--migrate-only";
+
+    public static void main(String[] args) {
+        String[] migratorArgs = Stream.concat(
+                Stream.of("--spring.liquibase.enabled=true", "--spring.main.banner-mode=off"),
+                Arrays.stream(args).filter(arg -> !MIGRATE_ONLY_ARG.equals(arg))
+        ).toArray(String[]::new);
+
+        // AOT-generated initializers only exist for the web application, not for the migrator
+        System.setProperty("spring.aot.enabled", "false");
+
+        SpringApplication application = new SpringApplication(DatabaseMigrator.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        ConfigurableApplicationContext context = application.run(migratorArgs);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bankcards.migration;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringResourceAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Startup check used instead of running Liquibase in every replica. With
+ * {@code app.migration.startup-check=verify} it validates the checksums of applied
+ * changesets and fails startup if any changeset has not been applied yet; it does
+ * not take the Liquibase lock, so replicas can start in parallel.
+ */
+@Component
+public class MigrationVerifier implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationVerifier.class);
+
+    private final DataSource dataSource;
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${app.migration.startup-check:verify}")
+    private String startupCheck;
+
+    @Value("${spring.liquibase.enabled:false}")
+    private boolean liquibaseEnabled;
+
+    @Value("${spring.liquibase.change-log}")
+    private String changeLog;
+
+    public MigrationVerifier(DataSource dataSource, ResourceLoader resourceLoader) {
+        this.dataSource = dataSource;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException, LiquibaseException {
+        // Nothing to verify when Liquibase migrates on startup or the check is off
+        if (liquibaseEnabled || !"verify".equalsIgnoreCase(startupCheck)) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            Liquibase liquibase = new Liquibase(changeLog.replaceFirst("^classpath:", ""),
+                    new SpringResourceAccessor(resourceLoader), database);
+
+            liquibase.validate();
+            List<ChangeSet> pending = liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression());
+            if (!pending.isEmpty()) {
+                throw new IllegalStateException("Database schema is behind the changelog, " + pending.size()
+                        + " changeset(s) pending. Run the migrator first: java -jar app.jar "
+                        + DatabaseMigrator.MIGRATE_ONLY_ARG);
+            }
+            log.info("Database schema verified against {}", changeLog);
+        }
+    }
+}
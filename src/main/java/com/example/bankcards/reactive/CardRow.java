@@ -0,0 +1,25 @@
+package com.example.bankcards.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A card row joined with its owner's name, read-only
+@Table("cards")
+public record CardRow(
+        @Id Long id,
+        String cardNumber,
+        String maskedCardNumber,
+        Long ownerId,
+        String ownerFirstName,
+        String ownerLastName,
+        LocalDate expiryDate,
+        String status,
+        BigDecimal balance,
+        String currency,
+        LocalDateTime createdAt
+) {
+}
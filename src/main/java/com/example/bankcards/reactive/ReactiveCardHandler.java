@@ -0,0 +1,165 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.TransferResponse;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.TransferStatus;
+import com.example.bankcards.service.EncryptionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only card endpoints for the reactive server. Responses have the same shape and access
+ * rules as the servlet {@code CardController}, but listings are keyset-paged: {@code nextCursor}
+ * is the last id of the page and goes back in {@code cursor}, not {@code page}.
+ */
+public class ReactiveCardHandler {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ReactiveCardRepository cardRepository;
+
+    private final ReactiveTransferRepository transferRepository;
+
+    private final EncryptionService encryptionService;
+
+    public ReactiveCardHandler(ReactiveCardRepository cardRepository, ReactiveTransferRepository transferRepository, EncryptionService encryptionService) {
+        this.cardRepository = cardRepository;
+        this.transferRepository = transferRepository;
+        this.encryptionService = encryptionService;
+    }
+
+    public Mono<ServerResponse> listCards(ServerRequest request) {
+        return currentUser(request).flatMap(user -> {
+            long cursor = longParam(request, "cursor", 0L);
+            int limit = limit(request);
+            String status = request.queryParam("status").map(value -> CardStatus.valueOf(value).name()).orElse(null);
+            Long ownerId = user.isAdmin()
+                    ? request.queryParam("userId").map(Long::valueOf).orElse(null)
+                    : user.id();
+
+            return cardRepository.findPage(ownerId, status, cursor, limit + 1)
+                    .map(row -> mapToResponse(row, user.isAdmin()))
+                    .collectList()
+                    .flatMap(cards -> ok(page(cards, limit, CardResponse::getId)));
+        }).onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, "Invalid request parameter"));
+    }
+
+    public Mono<ServerResponse> getCard(ServerRequest request) {
+        return currentUser(request).flatMap(user -> accessibleCard(request, user)
+                .flatMap(row -> ok(mapToResponse(row, user.isAdmin()))))
+                .onErrorResume(CardAccessException.class, e -> error(e.status, e.getMessage()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, "Invalid request parameter"));
+    }
+
+    public Mono<ServerResponse> listTransfers(ServerRequest request) {
+        return currentUser(request).flatMap(user -> accessibleCard(request, user).flatMap(card -> {
+                    long cursor = longParam(request, "cursor", Long.MAX_VALUE);
+                    int limit = limit(request);
+                    return transferRepository.findHistory(card.id(), cursor, limit + 1)
+                            .map(this::mapTransferToResponse)
+                            .collectList()
+                            .flatMap(transfers -> ok(page(transfers, limit, TransferResponse::getId)));
+                }))
+                .onErrorResume(CardAccessException.class, e -> error(e.status, e.getMessage()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, "Invalid request parameter"));
+    }
+
+    private Mono<CardRow> accessibleCard(ServerRequest request, ReactiveUser user) {
+        Long cardId = Long.valueOf(request.pathVariable("id"));
+        return cardRepository.findCard(cardId)
+                .switchIfEmpty(Mono.error(() -> new CardAccessException(HttpStatus.BAD_REQUEST, "Card not found")))
+                .filter(card -> user.isAdmin() || user.id().equals(card.ownerId()))
+                .switchIfEmpty(Mono.error(() -> new CardAccessException(HttpStatus.FORBIDDEN, "Access denied to this card")));
+    }
+
+    private Mono<ReactiveUser> currentUser(ServerRequest request) {
+        return request.principal()
+                .cast(Authentication.class)
+                .map(authentication -> (ReactiveUser) authentication.getPrincipal());
+    }
+
+    // Rows are fetched with limit + 1, so a full extra row means there is another page
+    private <T> PageResponse<T> page(List<T> rows, int limit, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new PageResponse<>(rows, null, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new PageResponse<>(items, String.valueOf(id.apply(items.get(limit - 1))), null);
+    }
+
+    private CardResponse mapToResponse(CardRow row, boolean includeDecrypted) {
+        CardResponse response = new CardResponse();
+        response.setId(row.id());
+        response.setMaskedCardNumber(row.maskedCardNumber());
+        response.setOwnerName(row.ownerFirstName() + " " + row.ownerLastName());
+        response.setExpiryDate(row.expiryDate());
+        response.setStatus(effectiveStatus(row));
+        response.setBalance(row.balance());
+        response.setCurrency(row.currency());
+        response.setCreatedAt(row.createdAt());
+
+        if (includeDecrypted) {
+            response.setCardNumber(encryptionService.decrypt(row.cardNumber()));
+        }
+        return response;
+    }
+
+    // Reports expiry the way Card.updateStatus would, without writing it back
+    private CardStatus effectiveStatus(CardRow row) {
+        CardStatus status = CardStatus.valueOf(row.status());
+        boolean expired = row.expiryDate() == null || LocalDate.now().isAfter(row.expiryDate());
+        return status == CardStatus.ACTIVE && expired ? CardStatus.EXPIRED : status;
+    }
+
+    private TransferResponse mapTransferToResponse(TransferRow row) {
+        TransferResponse response = new TransferResponse();
+        response.setId(row.id());
+        response.setFromCardMasked(row.fromCardMasked());
+        response.setToCardMasked(row.toCardMasked());
+        response.setAmount(row.amount());
+        response.setConvertedAmount(row.toAmount());
+        response.setFxRate(row.fxRate());
+        response.setStatus(TransferStatus.valueOf(row.status()));
+        response.setDescription(row.description());
+        response.setProcessedAt(row.processedAt());
+        return response;
+    }
+
+    private long longParam(ServerRequest request, String name, long defaultValue) {
+        return request.queryParam(name).map(Long::parseLong).orElse(defaultValue);
+    }
+
+    private int limit(ServerRequest request) {
+        int limit = request.queryParam("limit").map(Integer::parseInt).orElse(DEFAULT_LIMIT);
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private Mono<ServerResponse> ok(Object data) {
+        return ServerResponse.ok().bodyValue(ApiResponse.success(data));
+    }
+
+    private Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(ApiResponse.error(message));
+    }
+
+    private static final class CardAccessException extends RuntimeException {
+        private final HttpStatus status;
+
+        private CardAccessException(HttpStatus status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
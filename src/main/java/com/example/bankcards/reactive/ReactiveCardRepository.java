@@ -0,0 +1,29 @@
+package com.example.bankcards.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCardRepository extends R2dbcRepository<CardRow, Long> {
+
+    String SELECT_CARD = "SELECT c.id, c.card_number, c.masked_card_number, c.owner_id, " +
+            "u.first_name AS owner_first_name, u.last_name AS owner_last_name, " +
+            "c.expiry_date, c.status, c.currency, c.created_at, " +
+            // same total as Card#getBalance: sub-balances only exist for sharded cards,
+            // unflushed write-behind credits only for flagged ones
+            "c.balance + CASE WHEN c.balance_shards = 0 THEN 0 " +
+            "ELSE COALESCE((SELECT SUM(s.amount_minor) FROM card_balance_shards s WHERE s.card_id = c.id), 0) / 100.0 END " +
+            "+ CASE WHEN c.journaled_credits " +
+            "THEN COALESCE((SELECT SUM(j.amount_minor) FROM credit_journal j WHERE j.card_id = c.id), 0) / 100.0 ELSE 0 END AS balance " +
+            "FROM cards c JOIN users u ON u.id = c.owner_id ";
+
+    // Keyset page by id; a null owner or status means no filter on it
+    @Query(SELECT_CARD +
+            "WHERE (:ownerId IS NULL OR c.owner_id = :ownerId) AND (:status IS NULL OR c.status = :status) AND c.id > :afterId " +
+            "ORDER BY c.id LIMIT :limit")
+    Flux<CardRow> findPage(Long ownerId, String status, long afterId, int limit);
+
+    @Query(SELECT_CARD + "WHERE c.id = :id")
+    Mono<CardRow> findCard(Long id);
+}
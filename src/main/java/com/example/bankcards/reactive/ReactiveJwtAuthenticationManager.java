@@ -0,0 +1,56 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.service.JwtService;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same rules as {@link com.example.bankcards.security.JwtAuthenticationFilter}: the token
+ * must parse with the shared secret and must not be expired, and its subject must be an
+ * existing user, whose roles become the authorities.
+ */
+public class ReactiveJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtService jwtService;
+
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveJwtAuthenticationManager(JwtService jwtService, ReactiveUserRepository userRepository) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        return Mono.fromCallable(() -> jwtService.extractUsername(token))
+                .onErrorMap(e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+                        e -> new BadCredentialsException("Invalid token", e))
+                .flatMap(userRepository::findByUsername)
+                .flatMap(user -> userRepository.findRoleNames(user.id())
+                        .collectList()
+                        .map(roles -> toPrincipal(user, roles)))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Unknown user")))
+                .map(principal -> UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.authorities()));
+    }
+
+    private ReactiveUser toPrincipal(UserRow user, List<String> roleNames) {
+        int mask = 0;
+        for (String roleName : roleNames) {
+            mask |= Role.valueOf(roleName).mask();
+        }
+        List<GrantedAuthority> authorities = roleNames.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new ReactiveUser(user.id(), user.username(), mask, authorities);
+    }
+}
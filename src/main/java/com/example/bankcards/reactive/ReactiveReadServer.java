@@ -0,0 +1,133 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.service.EncryptionService;
+import com.example.bankcards.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Optional read-only server for card dashboards: WebFlux on Netty over R2DBC, started with
+ * {@code java -jar app.jar --reactive-read}. It serves {@code GET /api/cards},
+ * {@code GET /api/cards/{id}} and {@code GET /api/cards/{id}/transfers} with the same JWTs
+ * as the main application and rejects everything else. Writes stay on the servlet/JPA stack.
+ * <p>
+ * Like the migrator, this class is deliberately not a {@code @Configuration}, so the main
+ * application's component scan does not pick it up.
+ */
+@EnableAutoConfiguration(exclude = DataSourceAutoConfiguration.class)
+@Import({JwtService.class, EncryptionService.class})
+public class ReactiveReadServer {
+
+    public static final String REACTIVE_READ_ARG = "--reactive-read";
+
+    public static void main(String[] args) {
+        String[] serverArgs = Arrays.stream(args)
+                .filter(arg -> !REACTIVE_READ_ARG.equals(arg))
+                .toArray(String[]::new);
+
+        // AOT-generated initializers only exist for the servlet application
+        System.setProperty("spring.aot.enabled", "false");
+
+        SpringApplication application = new SpringApplication(ReactiveReadServer.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.run(serverArgs);
+    }
+
+    // Tomcat is on the classpath for the main application and would otherwise be preferred
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    ReactiveCardHandler reactiveCardHandler(ReactiveCardRepository cardRepository, ReactiveTransferRepository transferRepository, EncryptionService encryptionService) {
+        return new ReactiveCardHandler(cardRepository, transferRepository, encryptionService);
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> cardRoutes(ReactiveCardHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/cards", handler::listCards)
+                .GET("/api/cards/{id}", handler::getCard)
+                .GET("/api/cards/{id}/transfers", handler::listTransfers)
+                .build();
+    }
+
+    @Bean
+    ReactiveJwtAuthenticationManager reactiveJwtAuthenticationManager(JwtService jwtService, ReactiveUserRepository userRepository) {
+        return new ReactiveJwtAuthenticationManager(jwtService, userRepository);
+    }
+
+    @Bean
+    SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http, ReactiveJwtAuthenticationManager authenticationManager, ObjectMapper objectMapper) {
+        ServerAuthenticationEntryPoint entryPoint = unauthorizedEntryPoint(objectMapper);
+
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(authenticationManager);
+        jwtFilter.setServerAuthenticationConverter(exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith("Bearer ")) {
+                return Mono.empty();
+            }
+            String token = header.substring(7);
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        });
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(entryPoint))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/cards", "/api/cards/**").authenticated()
+                        .anyExchange().denyAll())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // Same body as JwtAuthenticationEntryPoint on the servlet side
+    private static ServerAuthenticationEntryPoint unauthorizedEntryPoint(ObjectMapper objectMapper) {
+        return (exchange, exception) -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("success", false);
+            body.put("message", "Unauthorized access - Invalid or missing token");
+            body.put("error", exception.getMessage());
+            body.put("path", exchange.getRequest().getPath().value());
+
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return Mono.fromCallable(() -> exchange.getResponse().bufferFactory().wrap(objectMapper.writeValueAsBytes(body)))
+                    .flatMap(buffer -> exchange.getResponse().writeWith(Mono.just(buffer)));
+        };
+    }
+}
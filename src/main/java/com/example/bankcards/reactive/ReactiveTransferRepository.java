@@ -0,0 +1,16 @@
+package com.example.bankcards.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTransferRepository extends R2dbcRepository<TransferRow, Long> {
+
+    // Newest first, keyset page on id
+    @Query("SELECT t.id, f.masked_card_number AS from_card_masked, d.masked_card_number AS to_card_masked, " +
+            "t.amount, t.to_amount, t.fx_rate, t.status, t.description, t.processed_at " +
+            "FROM transfers t JOIN cards f ON f.id = t.from_card_id JOIN cards d ON d.id = t.to_card_id " +
+            "WHERE (t.from_card_id = :cardId OR t.to_card_id = :cardId) AND t.id < :beforeId " +
+            "ORDER BY t.id DESC LIMIT :limit")
+    Flux<TransferRow> findHistory(Long cardId, long beforeId, int limit);
+}
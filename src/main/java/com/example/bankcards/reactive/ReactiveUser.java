@@ -0,0 +1,14 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.entity.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+// Authenticated principal of the reactive read server
+public record ReactiveUser(Long id, String username, int roleMask, List<GrantedAuthority> authorities) {
+
+    public boolean isAdmin() {
+        return (roleMask & Role.ROLE_ADMIN.mask()) != 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+
+    Mono<UserRow> findByUsername(String username);
+
+    @Query("SELECT role_name FROM user_roles WHERE user_id = :userId")
+    Flux<String> findRoleNames(Long userId);
+}
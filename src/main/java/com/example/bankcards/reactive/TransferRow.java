@@ -0,0 +1,22 @@
+package com.example.bankcards.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A transfer row joined with the masked numbers of both cards, read-only
+@Table("transfers")
+public record TransferRow(
+        @Id Long id,
+        String fromCardMasked,
+        String toCardMasked,
+        BigDecimal amount,
+        BigDecimal toAmount,
+        BigDecimal fxRate,
+        String status,
+        String description,
+        LocalDateTime processedAt
+) {
+}
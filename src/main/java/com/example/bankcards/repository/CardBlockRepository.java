@@ -2,10 +2,44 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardBlock;
+import com.example.bankcards.entity.enums.CardBlockStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface CardBlockRepository extends JpaRepository<CardBlock, Long> {
-    CardBlock findByCard(Card card);
+public interface CardBlockRepository extends JpaRepository<CardBlock, Long>, JpaSpecificationExecutor<CardBlock> {
+
+    @EntityGraph(attributePaths = "card")
+    Page<CardBlock> findAll(Specification<CardBlock> spec, Pageable pageable);
+
+    List<CardBlock> findByCardAndStatus(Card card, CardBlockStatus status);
+
+    boolean existsByCardAndStatus(Card card, CardBlockStatus status);
+
+    long countByStatus(CardBlockStatus status);
+
+    // Oldest claimable request; rows locked by another admin's claim are skipped instead of waited on
+    @Query(value = "SELECT * FROM card_block WHERE status = 'PENDING' AND (claimed_at IS NULL OR claimed_at < :staleBefore) " +
+            "ORDER BY created_at, id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<CardBlock> findNextClaimable(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Locks in id order so concurrent bulk decisions over overlapping ids cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "card")
+    @Query("SELECT b FROM CardBlock b WHERE b.id IN :ids ORDER BY b.id")
+    List<CardBlock> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
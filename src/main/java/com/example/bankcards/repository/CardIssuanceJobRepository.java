@@ -0,0 +1,26 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.CardIssuanceJob;
+import com.example.bankcards.entity.enums.CardIssuanceJobStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CardIssuanceJobRepository extends JpaRepository<CardIssuanceJob, Long> {
+
+    // Serializes chunk processing of one job across threads and nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM CardIssuanceJob j WHERE j.id = :id")
+    Optional<CardIssuanceJob> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT j.id FROM CardIssuanceJob j WHERE j.status IN :statuses ORDER BY j.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<CardIssuanceJobStatus> statuses);
+}
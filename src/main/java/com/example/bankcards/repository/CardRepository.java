@@ -3,15 +3,26 @@ package com.example.bankcards.repository;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.CardStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
     Page<Card> findByOwner(User owner, Pageable pageable);
     boolean existsByCardNumber(String cardNumber);
+    boolean existsByCardNumberHash(String cardNumberHash);
 
     Page<Card> findByCardNumberContaining(String cardNumber, Pageable pageable);
     Page<Card> findByStatus(CardStatus status, Pageable pageable);
@@ -19,4 +30,24 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     Page<Card> findByCardNumberContainingAndOwnerId(String cardNumber, Long userId, Pageable pageable);
     Page<Card> findByStatusAndOwnerId(CardStatus status, Long userId, Pageable pageable);
     Page<Card> findByCardNumberContainingAndStatusAndOwnerId(String cardNumber, CardStatus status, Long userId, Pageable pageable);
+
+    @Query("SELECT c.owner.id AS ownerId, c.version AS version, c.updatedAt AS updatedAt, c.status AS status, c.expiryDate AS expiryDate, c.balanceShards AS balanceShards, c.journaledCredits AS journaledCredits FROM Card c WHERE c.id = :id")
+    Optional<CardVersion> findVersionById(@Param("id") Long id);
+
+    // Forward-only cursor for bulk export, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Card c WHERE c.id > :afterId ORDER BY c.id")
+    Stream<Card> streamByIdGreaterThan(@Param("afterId") Long afterId);
+
+    // Keyset page for streamed admin listings, owners fetched in the same query
+    @EntityGraph(attributePaths = "owner")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Card> streamByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,17 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.enums.CardStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Just enough of a card to check access and answer a conditional GET
+public interface CardVersion {
+    Long getOwnerId();
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+    CardStatus getStatus();
+    LocalDate getExpiryDate();
+    int getBalanceShards();
+    boolean isJournaledCredits();
+}
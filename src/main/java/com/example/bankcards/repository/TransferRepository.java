@@ -2,16 +2,30 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.Transfer;
 import com.example.bankcards.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
 public interface TransferRepository extends JpaRepository<Transfer, Long> {
 
     @Query("SELECT t FROM Transfer t WHERE t.fromCard.owner = :user OR t.toCard.owner = :user")
     Page<Transfer> findByUser(@Param("user") User user, Pageable pageable);
+
+    // Forward-only cursor for bulk export, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transfer t JOIN FETCH t.fromCard JOIN FETCH t.toCard WHERE t.id > :afterId ORDER BY t.id")
+    Stream<Transfer> streamByIdGreaterThan(@Param("afterId") Long afterId);
 }
@@ -3,13 +3,20 @@ package com.example.bankcards.repository;
 import com.example.bankcards.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Cached result; invalidated by Hibernate whenever the users table is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
@@ -18,5 +25,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> findByFirstNameContaining(String firstName, Pageable pageable);
     Page<User> findByLastNameContaining(String lastName, Pageable pageable);
     Page<User> findByFirstNameContainingAndLastNameContaining(String firstName, String lastName, Pageable pageable);
+
+    @Query("SELECT u.version AS version, u.updatedAt AS updatedAt FROM User u WHERE u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
 }
 
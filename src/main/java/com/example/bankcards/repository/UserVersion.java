@@ -0,0 +1,9 @@
+package com.example.bankcards.repository;
+
+import java.time.LocalDateTime;
+
+// Just enough of a user to answer a conditional GET
+public interface UserVersion {
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,17 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authorization checks shared by services and method security, e.g.
+ * {@code @PreAuthorize("@access.isAdmin(principal)")}. Role checks read the
+ * bitmask the principal computes once when it is loaded, so they do not allocate.
+ */
+@Component("access")
+public class AccessPolicy {
+
+    public boolean isAdmin(Object principal) {
+        return principal instanceof User user && user.isAdmin();
+    }
+}
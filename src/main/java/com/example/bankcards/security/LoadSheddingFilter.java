@@ -0,0 +1,76 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.datasource.DataSourcePoolProperties;
+import com.example.bankcards.config.datasource.MonitoredDataSource;
+import com.example.bankcards.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Rejects API requests with 503 while the connection pool is saturated, before JWT
+ * authentication borrows a connection of its own. Queuing more work behind a full pool
+ * only raises latency for everyone; failing fast lets clients back off and retry.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final MonitoredDataSource dataSource;
+
+    private final DataSourcePoolProperties.Shedding shedding;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter shedCounter;
+
+    public LoadSheddingFilter(DataSource dataSource, DataSourcePoolProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource instanceof MonitoredDataSource monitored ? monitored : null;
+        this.shedding = properties.getShedding();
+        this.objectMapper = objectMapper;
+        this.shedCounter = Counter.builder("bank.requests.shed")
+                .description("Requests rejected because the connection pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!shedding.isEnabled() || dataSource == null || !isSaturated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        shedCounter.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, shedding.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Service is overloaded, please retry later"));
+    }
+
+    private boolean isSaturated() {
+        return dataSource.getThreadsAwaitingConnection() >= shedding.getMaxPending()
+                || dataSource.getAverageAcquireWaitMillis() >= shedding.getMaxAcquireWait().toMillis();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bankcards.security.ratelimit;
+
+import com.example.bankcards.config.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final long idleNanos;
+
+    public InMemoryRateLimitStore(RateLimitProperties properties) {
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitProperties.Rule rule) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key,
+                k -> new TokenBucket(rule.getCapacity(), rule.getPeriod().toNanos(), now));
+        return bucket.tryConsume(now);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
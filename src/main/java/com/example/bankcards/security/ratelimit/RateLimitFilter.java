@@ -0,0 +1,106 @@
+package com.example.bankcards.security.ratelimit;
+
+import com.example.bankcards.config.RateLimitProperties;
+import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured per-route token buckets. Runs after JWT authentication so
+ * authenticated callers are limited per user id; anonymous calls (login, register)
+ * are limited per client IP.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+
+    private final RateLimitStore rateLimitStore;
+
+    private final ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore rateLimitStore, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimitStore = rateLimitStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        int ruleIndex = findRule(request);
+        if (!properties.isEnabled() || ruleIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitProperties.Rule rule = properties.getRules().get(ruleIndex);
+        RateLimitResult result = rateLimitStore.tryConsume(ruleIndex + ":" + resolveClientKey(request), rule);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(result.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(result.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(result.getResetNanos())));
+
+        if (!result.isAllowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(result.getRetryAfterNanos())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests, please retry later"));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private int findRule(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<RateLimitProperties.Rule> rules = properties.getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitProperties.Rule rule = rules.get(i);
+            if (rule.getMethod() != null && !rule.getMethod().isEmpty()
+                    && !rule.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user && user.getId() != null) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        // round up so clients never retry too early
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
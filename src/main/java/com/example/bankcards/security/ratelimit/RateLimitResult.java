@@ -0,0 +1,22 @@
+package com.example.bankcards.security.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RateLimitResult {
+    private final boolean allowed;
+    private final long limit;
+    private final long remaining;
+    private final long resetNanos; // until the bucket is full again
+    private final long retryAfterNanos; // until the next token, 0 when allowed
+
+    public static RateLimitResult allowed(long limit, long remaining, long resetNanos) {
+        return new RateLimitResult(true, limit, remaining, resetNanos, 0);
+    }
+
+    public static RateLimitResult rejected(long limit, long retryAfterNanos, long resetNanos) {
+        return new RateLimitResult(false, limit, 0, resetNanos, retryAfterNanos);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.security.ratelimit;
+
+import com.example.bankcards.config.RateLimitProperties;
+
+/**
+ * Backing store for rate limit buckets. The default {@link InMemoryRateLimitStore}
+ * limits per node; multi-node deployments can register their own bean backed by a
+ * shared store and it replaces the in-memory one.
+ */
+public interface RateLimitStore {
+
+    RateLimitResult tryConsume(String key, RateLimitProperties.Rule rule);
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole
+ * bucket state is one "theoretical arrival time", updated with a CAS loop.
+ * Tokens refill continuously at {@code capacity / period}.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+
+    private final long emissionInterval; // nanos per token
+
+    private final long burstTolerance; // nanos covered by a full bucket
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, long periodNanos, long nowNanos) {
+        if (capacity <= 0 || periodNanos <= 0) {
+            throw new IllegalArgumentException("Capacity and period must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionInterval = Math.max(1, periodNanos / capacity);
+        this.burstTolerance = emissionInterval * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public RateLimitResult tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionInterval;
+            long allowAt = next - burstTolerance;
+
+            if (allowAt > nowNanos) {
+                return RateLimitResult.rejected(capacity, allowAt - nowNanos, arrival - nowNanos);
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                long remaining = (nowNanos + burstTolerance - next) / emissionInterval;
+                return RateLimitResult.allowed(capacity, remaining, next - nowNanos);
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has been full for at least {@code idleNanos};
+     * dropping it then is indistinguishable from keeping it.
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.MinorUnits;
+import com.example.bankcards.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balance striping for hot cards. A sharded card keeps its money, in minor units, in
+ * {@code balance_shards} rows of {@code card_balance_shards} instead of the {@code cards} row,
+ * so concurrent writes lock different rows and never touch the card itself.
+ * <p>
+ * Credits land on a random shard that no other transaction holds. Debits take the first free
+ * shard that covers the amount on its own; only when none does do they lock every shard of the
+ * card in shard order and borrow across them. The consolidator periodically evens the shards out
+ * so that borrowing stays rare. {@link Card#getBalance()} adds the shard sum to the column, so
+ * reads stay exact.
+ */
+@Service
+@Transactional
+public class CardBalanceShardService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardBalanceShardService.class);
+
+    static final int MAX_SHARDS = 64;
+
+    // Starts at a random shard and takes the first one nobody else is writing to
+    private static final String CREDIT_FREE_SHARD_SQL =
+            "UPDATE card_balance_shards SET amount_minor = amount_minor + :amount WHERE card_id = :cardId AND shard = (" +
+            "SELECT shard FROM card_balance_shards WHERE card_id = :cardId " +
+            "ORDER BY MOD(shard - :start + :shards, :shards) LIMIT 1 FOR UPDATE SKIP LOCKED)";
+
+    private static final String CREDIT_SHARD_SQL =
+            "UPDATE card_balance_shards SET amount_minor = amount_minor + :amount WHERE card_id = :cardId AND shard = :start";
+
+    private static final String DEBIT_FREE_SHARD_SQL =
+            "UPDATE card_balance_shards SET amount_minor = amount_minor - :amount WHERE card_id = :cardId AND shard = (" +
+            "SELECT shard FROM card_balance_shards WHERE card_id = :cardId AND amount_minor >= :amount " +
+            "ORDER BY MOD(shard - :start + :shards, :shards) LIMIT 1 FOR UPDATE SKIP LOCKED)";
+
+    // Shard order is the one lock order used by everything that holds more than one shard
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT shard, amount_minor FROM card_balance_shards WHERE card_id = :cardId ORDER BY shard FOR UPDATE";
+
+    private static final String SET_SHARD_SQL =
+            "UPDATE card_balance_shards SET amount_minor = :amount WHERE card_id = :cardId AND shard = :shard";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CardBalanceShardService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void credit(Card card, long amount) {
+        int shards = card.getBalanceShards();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cardId", card.getId())
+                .addValue("amount", amount)
+                .addValue("start", ThreadLocalRandom.current().nextInt(shards))
+                .addValue("shards", shards);
+
+        int updated = jdbcTemplate.update(CREDIT_FREE_SHARD_SQL, params);
+        if (updated == 0) {
+            // every shard is busy: queue behind one of them
+            updated = jdbcTemplate.update(CREDIT_SHARD_SQL, params);
+        }
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(Card.class, card.getId()); // sharding was switched off meanwhile
+        }
+        card.applyShardDelta(amount);
+    }
+
+    /**
+     * Returns false when the shards together hold less than {@code amount}.
+     */
+    public boolean debit(Card card, long amount) {
+        int shards = card.getBalanceShards();
+        int updated = jdbcTemplate.update(DEBIT_FREE_SHARD_SQL, new MapSqlParameterSource()
+                .addValue("cardId", card.getId())
+                .addValue("amount", amount)
+                .addValue("start", ThreadLocalRandom.current().nextInt(shards))
+                .addValue("shards", shards));
+        if (updated == 1) {
+            card.applyShardDelta(-amount);
+            return true;
+        }
+
+        List<Map<String, Object>> rows = lockShards(card.getId());
+        if (rows.isEmpty()) {
+            throw new ObjectOptimisticLockingFailureException(Card.class, card.getId());
+        }
+        if (total(rows) < amount) {
+            return false;
+        }
+
+        // Borrow from the fullest shards first so as few rows as possible change
+        long remaining = amount;
+        List<Map<String, Object>> fullestFirst = rows.stream()
+                .sorted((a, b) -> Long.compare(amountOf(b), amountOf(a)))
+                .toList();
+        for (Map<String, Object> row : fullestFirst) {
+            if (remaining == 0) {
+                break;
+            }
+            long available = amountOf(row);
+            long taken = Math.min(available, remaining);
+            setShard(card.getId(), ((Number) row.get("shard")).intValue(), available - taken);
+            remaining -= taken;
+        }
+        card.applyShardDelta(-amount);
+        return true;
+    }
+
+    /**
+     * Moves a card into or out of sharded mode, carrying the full balance over.
+     * A count of 0 folds the shards back into the {@code cards} row.
+     */
+    public void reshard(Long cardId, int count) {
+        if (count < 0 || count > MAX_SHARDS) {
+            throw new BusinessException("Shard count must be between 0 and " + MAX_SHARDS);
+        }
+
+        MapSqlParameterSource cardParams = new MapSqlParameterSource("cardId", cardId);
+        List<BigDecimal> balances = jdbcTemplate.queryForList(
+                "SELECT balance FROM cards WHERE id = :cardId FOR UPDATE", cardParams, BigDecimal.class);
+        if (balances.isEmpty()) {
+            throw new BusinessException("Card not found");
+        }
+
+        long total = MinorUnits.add(MinorUnits.of(balances.get(0)), total(lockShards(cardId)));
+        jdbcTemplate.update("DELETE FROM card_balance_shards WHERE card_id = :cardId", cardParams);
+
+        if (count > 0) {
+            long[] amounts = split(total, count);
+            MapSqlParameterSource[] rows = new MapSqlParameterSource[count];
+            for (int shard = 0; shard < count; shard++) {
+                rows[shard] = new MapSqlParameterSource()
+                        .addValue("cardId", cardId)
+                        .addValue("shard", shard)
+                        .addValue("amount", amounts[shard]);
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO card_balance_shards (card_id, shard, amount_minor) VALUES (:cardId, :shard, :amount)", rows);
+        }
+
+        // The version bump makes in-flight JPA writes to this card fail instead of overwriting the balance
+        jdbcTemplate.update("UPDATE cards SET balance = :balance, balance_shards = :count, version = version + 1, updated_at = :now WHERE id = :cardId",
+                new MapSqlParameterSource()
+                        .addValue("cardId", cardId)
+                        .addValue("balance", MinorUnits.toDecimal(count > 0 ? 0 : total))
+                        .addValue("count", count)
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    @Scheduled(fixedDelayString = "${app.balance-shards.consolidate-interval:30000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void consolidate() {
+        List<Long> cardIds = jdbcTemplate.queryForList(
+                "SELECT id FROM cards WHERE balance_shards > 0", new MapSqlParameterSource(), Long.class);
+        for (Long cardId : cardIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(cardId));
+            } catch (RuntimeException e) {
+                log.warn("Could not rebalance shards of card {}: {}", cardId, e.getMessage());
+            }
+        }
+    }
+
+    // Spreads the current sum evenly; the total never changes, only where it sits
+    private void rebalance(Long cardId) {
+        List<Map<String, Object>> rows = lockShards(cardId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        long[] target = split(total(rows), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (amountOf(rows.get(i)) != target[i]) {
+                setShard(cardId, ((Number) rows.get(i).get("shard")).intValue(), target[i]);
+            }
+        }
+    }
+
+    private List<Map<String, Object>> lockShards(Long cardId) {
+        return jdbcTemplate.queryForList(LOCK_SHARDS_SQL, new MapSqlParameterSource("cardId", cardId));
+    }
+
+    private void setShard(Long cardId, int shard, long amount) {
+        jdbcTemplate.update(SET_SHARD_SQL, new MapSqlParameterSource()
+                .addValue("cardId", cardId)
+                .addValue("shard", shard)
+                .addValue("amount", amount));
+    }
+
+    private static long amountOf(Map<String, Object> row) {
+        return ((Number) row.get("amount_minor")).longValue();
+    }
+
+    private static long total(List<Map<String, Object>> rows) {
+        long total = 0;
+        for (Map<String, Object> row : rows) {
+            total = MinorUnits.add(total, amountOf(row));
+        }
+        return total;
+    }
+
+    // Even split in minor units; the first shards absorb the remainder
+    static long[] split(long total, int count) {
+        long base = total / count;
+        long remainder = total % count;
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = base + (i < remainder ? 1 : 0);
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.request.CardBlockDecisionRequest;
+import com.example.bankcards.dto.request.CardBlockRequest;
+import com.example.bankcards.dto.response.CardBlockResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardBlock;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardBlockStatus;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.CardBlockRepository;
+import com.example.bankcards.repository.CardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admin work queue for card block requests. Several admins can pull from the queue at
+ * once: claiming skips rows another admin has locked, and a claim lapses after
+ * {@link #CLAIM_LEASE} so requests left open by an admin who walked away come back.
+ * Bulk decisions lock all requested rows in id order and apply in one transaction.
+ * <p>
+ * Queue drain is observable through {@code bank.card_block.created}, {@code bank.card_block.resolved}
+ * (time from creation to decision, tagged by decision) and the {@code bank.card_block.pending} gauge,
+ * which is kept in memory and recounted every {@code app.card-block.pending-count-interval}.
+ */
+@Service
+@Transactional
+public class CardBlockService {
+
+    static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+
+    private final CardBlockRepository cardBlockRepository;
+
+    private final CardRepository cardRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter createdCounter;
+
+    private final Map<CardBlockStatus, Timer> resolvedTimers;
+
+    // Adjusted after each local commit and recounted on a schedule, so scrapes never query the database
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    public CardBlockService(CardBlockRepository cardBlockRepository, CardRepository cardRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.cardBlockRepository = cardBlockRepository;
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createdCounter = Counter.builder("bank.card_block.created")
+                .description("Card block requests submitted")
+                .register(meterRegistry);
+        this.resolvedTimers = Set.of(CardBlockStatus.APPROVED, CardBlockStatus.REJECTED).stream()
+                .collect(Collectors.toMap(Function.identity(), decision -> Timer.builder("bank.card_block.resolved")
+                        .description("Time card block requests spent in the queue before a decision")
+                        .tag("decision", decision.name())
+                        .register(meterRegistry)));
+        Gauge.builder("bank.card_block.pending", pendingCount, AtomicLong::get)
+                .description("Card block requests waiting for a decision")
+                .register(meterRegistry);
+    }
+
+    public CardBlockResponse createRequest(CardBlockRequest request, User currentUser) {
+        Card card = cardRepository.findById(request.getCardId())
+                .orElseThrow(() -> new BusinessException("Card not found"));
+
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin && !card.isOwnedBy(currentUser)) {
+            throw new AccessDeniedException("Access denied to this card");
+        }
+
+        // Validate cards status
+        if (!card.isActive()) {
+            throw new BusinessException("Card is not active");
+        }
+
+        if (cardBlockRepository.existsByCardAndStatus(card, CardBlockStatus.PENDING)) {
+            throw new BusinessException("A block request for this card is already pending");
+        }
+
+        CardBlock cardBlock = new CardBlock();
+        cardBlock.setCard(card);
+        cardBlock.setStatus(CardBlockStatus.PENDING);
+        cardBlock.setDescription(request.getDescription());
+        cardBlock.setCreatedAt(LocalDateTime.now());
+        try {
+            cardBlockRepository.saveAndFlush(cardBlock);
+        } catch (DataIntegrityViolationException e) {
+            // lost the race to a concurrent request for the same card
+            throw new BusinessException("A block request for this card is already pending");
+        }
+
+        afterCommit(() -> {
+            createdCounter.increment();
+            pendingCount.incrementAndGet();
+        });
+        return mapToResponse(cardBlock);
+    }
+
+    /**
+     * Files a request on behalf of the system, e.g. from risk scoring. Returns false instead of
+     * failing when the card is gone, not active or already has a pending request. Runs in a
+     * transaction of its own, so a lost race with another request only rolls back this insert.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean createSystemRequest(Long cardId, String description) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Card card = cardRepository.findById(cardId).orElse(null);
+                if (card == null || !card.isActive() || cardBlockRepository.existsByCardAndStatus(card, CardBlockStatus.PENDING)) {
+                    return false;
+                }
+
+                CardBlock cardBlock = new CardBlock();
+                cardBlock.setCard(card);
+                cardBlock.setStatus(CardBlockStatus.PENDING);
+                cardBlock.setDescription(description.length() > 500 ? description.substring(0, 500) : description);
+                cardBlock.setCreatedAt(LocalDateTime.now());
+                cardBlockRepository.saveAndFlush(cardBlock);
+
+                afterCommit(() -> {
+                    createdCounter.increment();
+                    pendingCount.incrementAndGet();
+                });
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false; // a request for the card was filed concurrently
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CardBlockResponse> getRequests(CardBlockStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, Pageable pageable) {
+        return cardBlockRepository.findAll(filter(status, createdFrom, createdTo), pageable)
+                .map(this::mapToResponse);
+    }
+
+    public Optional<CardBlockResponse> claimNext(User currentUser) {
+        requireAdmin(currentUser);
+
+        LocalDateTime now = LocalDateTime.now();
+        return cardBlockRepository.findNextClaimable(now.minus(CLAIM_LEASE))
+                .map(cardBlock -> {
+                    cardBlock.setClaimedBy(currentUser.getId());
+                    cardBlock.setClaimedAt(now);
+                    cardBlock.setUpdatedAt(now);
+                    return mapToResponse(cardBlock);
+                });
+    }
+
+    public CardBlockResponse release(Long id, User currentUser) {
+        requireAdmin(currentUser);
+
+        CardBlock cardBlock = cardBlockRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("Card block request not found"));
+
+        if (cardBlock.getStatus() != CardBlockStatus.PENDING) {
+            throw new BusinessException("Card block request is already resolved");
+        }
+        if (!currentUser.getId().equals(cardBlock.getClaimedBy())) {
+            throw new BusinessException("Card block request is not claimed by you");
+        }
+
+        cardBlock.setClaimedBy(null);
+        cardBlock.setClaimedAt(null);
+        cardBlock.setUpdatedAt(LocalDateTime.now());
+        return mapToResponse(cardBlock);
+    }
+
+    /**
+     * Approves or rejects every listed request, or none of them. Approving blocks the card.
+     * Requests claimed by another admin are refused until that claim is released or lapses.
+     */
+    public List<CardBlockResponse> resolve(CardBlockDecisionRequest request, User currentUser) {
+        requireAdmin(currentUser);
+
+        CardBlockStatus decision = request.getDecision();
+        if (decision == CardBlockStatus.PENDING) {
+            throw new BusinessException("Decision must be APPROVED or REJECTED");
+        }
+
+        Set<Long> ids = new TreeSet<>(request.getIds());
+        List<CardBlock> cardBlocks = cardBlockRepository.findAllByIdForUpdate(ids);
+        if (cardBlocks.size() != ids.size()) {
+            cardBlocks.forEach(cardBlock -> ids.remove(cardBlock.getId()));
+            throw new BusinessException("Card block requests not found: " + ids);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(CLAIM_LEASE);
+        List<Long> unavailable = cardBlocks.stream()
+                .filter(cardBlock -> cardBlock.getStatus() != CardBlockStatus.PENDING
+                        || isClaimedByOther(cardBlock, currentUser, staleBefore))
+                .map(CardBlock::getId)
+                .toList();
+        if (!unavailable.isEmpty()) {
+            throw new BusinessException("Card block requests already resolved or claimed by another administrator: " + unavailable);
+        }
+
+        List<CardBlockResponse> responses = new ArrayList<>(cardBlocks.size());
+        for (CardBlock cardBlock : cardBlocks) {
+            if (decision == CardBlockStatus.APPROVED) {
+                blockCard(cardBlock.getCard(), now);
+            }
+            markResolved(cardBlock, decision, currentUser, now);
+            responses.add(mapToResponse(cardBlock));
+        }
+        return responses;
+    }
+
+    // Closes whatever requests are open for a card an admin blocked directly
+    public void approvePending(Card card, User currentUser) {
+        LocalDateTime now = LocalDateTime.now();
+        for (CardBlock cardBlock : cardBlockRepository.findByCardAndStatus(card, CardBlockStatus.PENDING)) {
+            markResolved(cardBlock, CardBlockStatus.APPROVED, currentUser, now);
+        }
+    }
+
+    // Picks up requests filed or resolved on other nodes
+    @Scheduled(fixedDelayString = "${app.card-block.pending-count-interval:30000}")
+    @Transactional(readOnly = true)
+    public void refreshPendingCount() {
+        pendingCount.set(cardBlockRepository.countByStatus(CardBlockStatus.PENDING));
+    }
+
+    private void blockCard(Card card, LocalDateTime now) {
+        if (card.getStatus() == CardStatus.ACTIVE) {
+            card.setStatus(CardStatus.BLOCKED);
+            card.setUpdatedAt(now);
+        }
+    }
+
+    private void markResolved(CardBlock cardBlock, CardBlockStatus decision, User currentUser, LocalDateTime now) {
+        cardBlock.setStatus(decision);
+        cardBlock.setResolvedBy(currentUser.getId());
+        cardBlock.setResolvedAt(now);
+        cardBlock.setClaimedBy(null);
+        cardBlock.setClaimedAt(null);
+        cardBlock.setUpdatedAt(now);
+
+        Duration queued = cardBlock.getCreatedAt() != null ? Duration.between(cardBlock.getCreatedAt(), now) : Duration.ZERO;
+        Timer timer = resolvedTimers.get(decision);
+        afterCommit(() -> {
+            timer.record(queued);
+            pendingCount.decrementAndGet();
+        });
+    }
+
+    private static boolean isClaimedByOther(CardBlock cardBlock, User currentUser, LocalDateTime staleBefore) {
+        return cardBlock.getClaimedBy() != null
+                && !cardBlock.getClaimedBy().equals(currentUser.getId())
+                && cardBlock.getClaimedAt() != null
+                && cardBlock.getClaimedAt().isAfter(staleBefore);
+    }
+
+    private static Specification<CardBlock> filter(CardBlockStatus status, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(3);
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (createdFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), createdFrom));
+            }
+            if (createdTo != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), createdTo));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static void requireAdmin(User currentUser) {
+        if (!currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only administrators can process card block requests");
+        }
+    }
+
+    // Metrics only count work that actually committed
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private CardBlockResponse mapToResponse(CardBlock cardBlock) {
+        CardBlockResponse response = new CardBlockResponse();
+        response.setId(cardBlock.getId());
+        response.setCardId(cardBlock.getCard().getId());
+        response.setCardMasked(cardBlock.getCard().getMaskedCardNumber());
+        response.setStatus(cardBlock.getStatus());
+        response.setDescription(cardBlock.getDescription());
+        response.setCreatedAt(cardBlock.getCreatedAt());
+        response.setClaimedBy(cardBlock.getClaimedBy());
+        response.setClaimedAt(cardBlock.getClaimedAt());
+        response.setResolvedBy(cardBlock.getResolvedBy());
+        response.setResolvedAt(cardBlock.getResolvedAt());
+        return response;
+    }
+}
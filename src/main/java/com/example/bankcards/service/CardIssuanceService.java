@@ -0,0 +1,306 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.request.BulkCardIssueRequest;
+import com.example.bankcards.dto.response.CardIssuanceJobResponse;
+import com.example.bankcards.entity.CardIssuanceJob;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardIssuanceJobStatus;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.CardIssuanceJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Issues cards for many owners as a background job. Owners are stored as job items
+ * and processed in chunks of {@link #CHUNK_SIZE}; each chunk generates its card numbers
+ * in parallel, checks them against the blind index with one query and inserts them with
+ * a single JDBC batch. The job row records how far it got, so a failed or interrupted
+ * job resumes from the last committed chunk. Jobs left pending or running by a stopped node
+ * are picked up at startup; every chunk locks the job row, so nodes resuming the same job
+ * take turns instead of issuing a chunk twice.
+ */
+@Service
+public class CardIssuanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardIssuanceService.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO card_issuance_job_items (job_id, position, owner_id) VALUES (:jobId, :position, :ownerId)";
+
+    private static final String SELECT_ITEMS_SQL =
+            "SELECT owner_id FROM card_issuance_job_items WHERE job_id = :jobId AND position >= :from ORDER BY position LIMIT :limit";
+
+    private static final String INSERT_CARD_SQL =
+            "INSERT INTO cards (card_number, card_number_hash, masked_card_number, owner_id, expiry_date, status, balance, currency, created_at) " +
+            "VALUES (:cardNumber, :cardNumberHash, :maskedCardNumber, :ownerId, :expiryDate, :status, :balance, :currency, :createdAt)";
+
+    private final CardIssuanceJobRepository jobRepository;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EncryptionService encryptionService;
+
+    private final CardNumberGenerator cardNumberGenerator;
+
+    private final FxRateService fxRateService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "card-issuance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public CardIssuanceService(CardIssuanceJobRepository jobRepository, NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, EncryptionService encryptionService, CardNumberGenerator cardNumberGenerator, FxRateService fxRateService) {
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.encryptionService = encryptionService;
+        this.cardNumberGenerator = cardNumberGenerator;
+        this.fxRateService = fxRateService;
+    }
+
+    @Transactional
+    public CardIssuanceJobResponse submit(BulkCardIssueRequest request, User currentUser) {
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin) {
+            throw new AccessDeniedException("Only administrators can issue cards in bulk");
+        }
+
+        CardIssuanceJob job = new CardIssuanceJob();
+        job.setRequestedBy(currentUser.getId());
+        job.setStatus(CardIssuanceJobStatus.PENDING);
+        job.setExpiryDate(request.getExpiryDate() != null ? request.getExpiryDate() : LocalDate.now().plusYears(3));
+        job.setInitialBalance(request.getInitialBalance() != null ? request.getInitialBalance() : BigDecimal.ZERO);
+        job.setTotal(request.getOwnerIds().size());
+        job.setCreatedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+
+        List<Long> ownerIds = request.getOwnerIds();
+        MapSqlParameterSource[] items = new MapSqlParameterSource[ownerIds.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new MapSqlParameterSource()
+                    .addValue("jobId", job.getId())
+                    .addValue("position", i)
+                    .addValue("ownerId", ownerIds.get(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items);
+
+        startAfterCommit(job.getId());
+        return mapToResponse(job);
+    }
+
+    @Transactional
+    public CardIssuanceJobResponse resume(Long jobId) {
+        CardIssuanceJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new BusinessException("Issuance job not found"));
+
+        if (job.getStatus() == CardIssuanceJobStatus.COMPLETED) {
+            throw new BusinessException("Issuance job is already completed");
+        }
+        if (runningJobs.contains(jobId)) {
+            throw new BusinessException("Issuance job is already running");
+        }
+
+        job.setStatus(CardIssuanceJobStatus.PENDING);
+        job.setError(null);
+        job.setUpdatedAt(LocalDateTime.now());
+
+        startAfterCommit(jobId);
+        return mapToResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public CardIssuanceJobResponse getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new BusinessException("Issuance job not found"));
+    }
+
+    // Picks up jobs that were in progress when this node, or the whole cluster, went down
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        try {
+            List<Long> jobIds = jobRepository.findIdsByStatusIn(List.of(CardIssuanceJobStatus.PENDING, CardIssuanceJobStatus.RUNNING));
+            if (!jobIds.isEmpty()) {
+                log.info("Resuming {} interrupted card issuance jobs", jobIds.size());
+            }
+            jobIds.forEach(jobId -> executor.execute(() -> run(jobId)));
+        } catch (RuntimeException e) {
+            log.error("Could not resume card issuance jobs", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void startAfterCommit(Long jobId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> run(jobId));
+            }
+        });
+    }
+
+    void run(Long jobId) {
+        if (!runningJobs.add(jobId)) {
+            return;
+        }
+        try {
+            boolean more = true;
+            while (more && !Thread.currentThread().isInterrupted()) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(jobId)));
+            }
+        } catch (RuntimeException e) {
+            log.error("Card issuance job {} failed", jobId, e);
+            markFailed(jobId, e);
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    private boolean processChunk(Long jobId) {
+        CardIssuanceJob job = jobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new BusinessException("Issuance job not found"));
+
+        if (job.getStatus() == CardIssuanceJobStatus.COMPLETED) {
+            return false;
+        }
+
+        List<Long> ownerIds = jdbcTemplate.queryForList(SELECT_ITEMS_SQL, new MapSqlParameterSource()
+                .addValue("jobId", jobId)
+                .addValue("from", job.getProcessed())
+                .addValue("limit", CHUNK_SIZE), Long.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (ownerIds.isEmpty()) {
+            job.setStatus(CardIssuanceJobStatus.COMPLETED);
+            job.setCompletedAt(now);
+            job.setUpdatedAt(now);
+            log.info("Card issuance job {} completed: {} issued, {} skipped", jobId, job.getIssued(), job.getSkipped());
+            return false;
+        }
+
+        Set<Long> existingOwners = findExistingUsers(ownerIds);
+        List<Long> validOwners = ownerIds.stream().filter(existingOwners::contains).toList();
+        List<String> cardNumbers = generateUniqueCardNumbers(validOwners.size());
+
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Date expiryDate = Date.valueOf(job.getExpiryDate());
+        String currency = fxRateService.getDefaultCurrency().getCurrencyCode();
+        MapSqlParameterSource[] rows = IntStream.range(0, validOwners.size())
+                .parallel()
+                .mapToObj(i -> {
+                    String cardNumber = cardNumbers.get(i);
+                    return new MapSqlParameterSource()
+                            .addValue("cardNumber", encryptionService.encrypt(cardNumber))
+                            .addValue("cardNumberHash", encryptionService.blindIndex(cardNumber))
+                            .addValue("maskedCardNumber", encryptionService.maskCardNumber(cardNumber))
+                            .addValue("ownerId", validOwners.get(i))
+                            .addValue("expiryDate", expiryDate)
+                            .addValue("status", CardStatus.ACTIVE.name())
+                            .addValue("balance", job.getInitialBalance())
+                            .addValue("currency", currency)
+                            .addValue("createdAt", createdAt);
+                })
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_CARD_SQL, rows);
+
+        job.setStatus(CardIssuanceJobStatus.RUNNING);
+        job.setProcessed(job.getProcessed() + ownerIds.size());
+        job.setIssued(job.getIssued() + validOwners.size());
+        job.setSkipped(job.getSkipped() + ownerIds.size() - validOwners.size());
+        job.setUpdatedAt(now);
+        return true;
+    }
+
+    private Set<Long> findExistingUsers(List<Long> ownerIds) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", new HashSet<>(ownerIds)), Long.class));
+    }
+
+    /**
+     * Generates numbers in parallel. The generator never repeats itself, so the blind index
+     * query only guards against numbers issued before the range allocator existed.
+     */
+    private List<String> generateUniqueCardNumbers(int count) {
+        Map<String, String> accepted = new HashMap<>(count * 2);
+        while (accepted.size() < count) {
+            int missing = count - accepted.size();
+            Map<String, String> candidates = IntStream.range(0, missing)
+                    .parallel()
+                    .mapToObj(i -> cardNumberGenerator.generate())
+                    .collect(Collectors.toConcurrentMap(encryptionService::blindIndex, number -> number, (a, b) -> a));
+            candidates.keySet().removeAll(accepted.keySet());
+            if (!candidates.isEmpty()) {
+                candidates.keySet().removeAll(jdbcTemplate.queryForList(
+                        "SELECT card_number_hash FROM cards WHERE card_number_hash IN (:hashes)",
+                        new MapSqlParameterSource("hashes", candidates.keySet()), String.class));
+            }
+            accepted.putAll(candidates);
+        }
+        return new ArrayList<>(accepted.values());
+    }
+
+    private void markFailed(Long jobId, RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(CardIssuanceJobStatus.FAILED);
+            job.setError(message.length() > 500 ? message.substring(0, 500) : message);
+            job.setUpdatedAt(LocalDateTime.now());
+        }));
+    }
+
+    private CardIssuanceJobResponse mapToResponse(CardIssuanceJob job) {
+        CardIssuanceJobResponse response = new CardIssuanceJobResponse();
+        response.setId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setTotal(job.getTotal());
+        response.setProcessed(job.getProcessed());
+        response.setIssued(job.getIssued());
+        response.setSkipped(job.getSkipped());
+        response.setError(job.getError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.entity.enums.LedgerEntryType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of every balance movement in {@code card_ledger}: one signed row per credit,
+ * debit or transfer leg, in minor units. Rows are written in the transaction that moves the money,
+ * so a movement and its ledger row commit together. Balances are still read from the card, its
+ * shards and its credit journal; the ledger is what monthly statements are built from.
+ */
+@Component
+public class CardLedger {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO card_ledger (card_id, entry_type, amount_minor, transfer_id, counterparty_card_id, description, created_at) " +
+            "VALUES (:cardId, :entryType, :amountMinor, :transferId, :counterpartyCardId, :description, :createdAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CardLedger(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void credit(Card card, long amountMinor) {
+        jdbcTemplate.update(INSERT_SQL, entry(card.getId(), LedgerEntryType.CREDIT, amountMinor, null, null, null, LocalDateTime.now()));
+    }
+
+    public void debit(Card card, long amountMinor) {
+        jdbcTemplate.update(INSERT_SQL, entry(card.getId(), LedgerEntryType.DEBIT, -amountMinor, null, null, null, LocalDateTime.now()));
+    }
+
+    /**
+     * Records both legs of a completed transfer, each in its own card's currency.
+     */
+    public void transfer(Transfer transfer) {
+        Long fromCardId = transfer.getFromCard().getId();
+        Long toCardId = transfer.getToCard().getId();
+        long credited = transfer.getToAmount() != null ? transfer.getToAmount() : transfer.getAmount();
+        jdbcTemplate.batchUpdate(INSERT_SQL, new MapSqlParameterSource[]{
+                entry(fromCardId, LedgerEntryType.TRANSFER_OUT, -transfer.getAmount(), transfer.getId(), toCardId,
+                        transfer.getDescription(), transfer.getProcessedAt()),
+                entry(toCardId, LedgerEntryType.TRANSFER_IN, credited, transfer.getId(), fromCardId,
+                        transfer.getDescription(), transfer.getProcessedAt())
+        });
+    }
+
+    private static MapSqlParameterSource entry(Long cardId, LedgerEntryType type, long amountMinor, Long transferId,
+                                               Long counterpartyCardId, String description, LocalDateTime createdAt) {
+        return new MapSqlParameterSource()
+                .addValue("cardId", cardId)
+                .addValue("entryType", type.name())
+                .addValue("amountMinor", amountMinor)
+                .addValue("transferId", transferId)
+                .addValue("counterpartyCardId", counterpartyCardId)
+                .addValue("description", description)
+                .addValue("createdAt", Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.bankcards.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Produces BIN-prefixed, Luhn-valid 16-digit card numbers without probing the database.
+ * <p>
+ * Account indexes are handed out from blocks reserved in {@code card_number_ranges}, so no
+ * two nodes ever see the same index. Each index is passed through a keyed Feistel permutation
+ * of the 9-digit account space, which keeps numbers unique while making consecutive cards
+ * look unrelated. The permutation hides issuance order; it is not a substitute for encryption.
+ */
+@Component
+public class CardNumberGenerator {
+
+    private static final int CARD_NUMBER_LENGTH = 16;
+    private static final int BIN_LENGTH = 6;
+    private static final long ACCOUNT_SPACE = 1_000_000_000L; // 9 account digits
+
+    private static final int ROUNDS = 4;
+    private static final int HALF_BITS = 15; // 2^30 is the smallest even power of two above ACCOUNT_SPACE
+    private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate reservationTransaction;
+
+    private final String bin;
+
+    private final int blockSize;
+
+    private final int[] roundKeys;
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private volatile Block block = new Block(0, 0);
+
+    public CardNumberGenerator(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.card-number.bin}") String bin,
+                               @Value("${app.card-number.block-size}") int blockSize,
+                               @Value("${app.card-number.permutation-key}") String permutationKey) {
+        if (bin == null || bin.length() != BIN_LENGTH || !bin.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("Card number BIN must be exactly " + BIN_LENGTH + " digits");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Card number block size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bin = bin;
+        this.blockSize = blockSize;
+        this.roundKeys = deriveRoundKeys(permutationKey);
+    }
+
+    public String generate() {
+        return format(permute(nextIndex()));
+    }
+
+    public static boolean isLuhnValid(String cardNumber) {
+        if (cardNumber == null || cardNumber.isEmpty()) {
+            return false;
+        }
+        int sum = 0;
+        boolean doubleDigit = false;
+        for (int i = cardNumber.length() - 1; i >= 0; i--) {
+            char c = cardNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            int digit = c - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return sum % 10 == 0;
+    }
+
+    private long nextIndex() {
+        while (true) {
+            Block current = block;
+            long index = current.cursor.getAndIncrement();
+            if (index < current.end) {
+                return index;
+            }
+            refillLock.lock();
+            try {
+                if (block == current) {
+                    block = reserveBlock();
+                }
+            } finally {
+                refillLock.unlock();
+            }
+        }
+    }
+
+    // Runs in its own short transaction so the range row is never locked for the caller's whole transaction
+    private Block reserveBlock() {
+        Long blockIndex = reservationTransaction.execute(status -> {
+            jdbcTemplate.update("INSERT INTO card_number_ranges (bin, next_block) VALUES (?, 0) ON CONFLICT (bin) DO NOTHING", bin);
+            return jdbcTemplate.queryForObject(
+                    "UPDATE card_number_ranges SET next_block = next_block + 1 WHERE bin = ? RETURNING next_block - 1",
+                    Long.class, bin);
+        });
+        if (blockIndex == null) {
+            throw new IllegalStateException("Could not reserve a card number block for BIN " + bin);
+        }
+
+        long start = blockIndex * blockSize;
+        if (start >= ACCOUNT_SPACE) {
+            throw new IllegalStateException("Card number range exhausted for BIN " + bin);
+        }
+        return new Block(start, Math.min(start + blockSize, ACCOUNT_SPACE));
+    }
+
+    // Balanced Feistel network over 30 bits with cycle walking back into [0, ACCOUNT_SPACE)
+    private long permute(long index) {
+        long value = index;
+        do {
+            int left = (int) (value >>> HALF_BITS) & HALF_MASK;
+            int right = (int) value & HALF_MASK;
+            for (int round = 0; round < ROUNDS; round++) {
+                int next = left ^ (roundFunction(right, roundKeys[round]) & HALF_MASK);
+                left = right;
+                right = next;
+            }
+            value = ((long) left << HALF_BITS) | right;
+        } while (value >= ACCOUNT_SPACE);
+        return value;
+    }
+
+    private static int roundFunction(int value, int key) {
+        int h = value * 0x9E3779B1 ^ key;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private String format(long account) {
+        char[] digits = new char[CARD_NUMBER_LENGTH];
+        bin.getChars(0, BIN_LENGTH, digits, 0);
+
+        long remaining = account;
+        for (int i = CARD_NUMBER_LENGTH - 2; i >= BIN_LENGTH; i--) {
+            digits[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        // Luhn check digit: double every second digit starting from the one left of the check digit
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (int i = CARD_NUMBER_LENGTH - 2; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        digits[CARD_NUMBER_LENGTH - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(digits);
+    }
+
+    private static int[] deriveRoundKeys(String permutationKey) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(permutationKey.getBytes(StandardCharsets.UTF_8));
+            int[] keys = new int[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                keys[i] = ((hash[i * 4] & 0xFF) << 24) | ((hash[i * 4 + 1] & 0xFF) << 16)
+                        | ((hash[i * 4 + 2] & 0xFF) << 8) | (hash[i * 4 + 3] & 0xFF);
+            }
+            return keys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong cursor;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
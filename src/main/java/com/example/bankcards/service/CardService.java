@@ -1,34 +1,41 @@
 package com.example.bankcards.service;
 
 
-import com.example.bankcards.dto.request.CardBlockRequest;
 import com.example.bankcards.dto.request.CardCreateRequest;
+import com.example.bankcards.dto.request.CardLimitsRequest;
 import com.example.bankcards.dto.request.CreditDebitRequest;
 import com.example.bankcards.dto.request.TransferRequest;
-import com.example.bankcards.dto.response.CardBlockResponse;
+import com.example.bankcards.dto.response.CardLimitsResponse;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.TransferResponse;
 import com.example.bankcards.entity.Card;
-import com.example.bankcards.entity.CardBlock;
+import com.example.bankcards.entity.MinorUnits;
 import com.example.bankcards.entity.Transfer;
 import com.example.bankcards.entity.User;
-import com.example.bankcards.entity.enums.CardBlockStatus;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.entity.enums.TransferStatus;
 import com.example.bankcards.exception.BusinessException;
-import com.example.bankcards.repository.CardBlockRepository;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardVersion;
 import com.example.bankcards.repository.TransferRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.risk.FraudCheckService;
+import com.example.bankcards.service.risk.RiskContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Pageable;
 
@@ -42,18 +49,40 @@ public class CardService {
 
     private final TransferRepository transferRepository;
 
-    private final CardBlockRepository cardBlockRepository;
+    private final CardBlockService cardBlockService;
+
+    private final CardBalanceShardService cardBalanceShardService;
+
+    private final CreditAccumulator creditAccumulator;
+
+    private final CardLedger cardLedger;
+
+    private final FxRateService fxRateService;
+
+    private final SpendingLimitService spendingLimitService;
+
+    private final FraudCheckService fraudCheckService;
 
     private final EncryptionService encryptionService;
 
-    private static final SecureRandom random = new SecureRandom();
+    private final CardNumberGenerator cardNumberGenerator;
+
+    private final ObjectMapper objectMapper;
 
-    public CardService(CardRepository cardRepository, UserRepository userRepository, TransferRepository transferRepository, CardBlockRepository cardBlockRepository, EncryptionService encryptionService) {
+    public CardService(CardRepository cardRepository, UserRepository userRepository, TransferRepository transferRepository, CardBlockService cardBlockService, CardBalanceShardService cardBalanceShardService, CreditAccumulator creditAccumulator, CardLedger cardLedger, FxRateService fxRateService, SpendingLimitService spendingLimitService, FraudCheckService fraudCheckService, EncryptionService encryptionService, CardNumberGenerator cardNumberGenerator, ObjectMapper objectMapper) {
         this.cardRepository = cardRepository;
         this.userRepository = userRepository;
         this.transferRepository = transferRepository;
-        this.cardBlockRepository = cardBlockRepository;
+        this.cardBlockService = cardBlockService;
+        this.cardBalanceShardService = cardBalanceShardService;
+        this.creditAccumulator = creditAccumulator;
+        this.cardLedger = cardLedger;
+        this.fxRateService = fxRateService;
+        this.spendingLimitService = spendingLimitService;
+        this.fraudCheckService = fraudCheckService;
         this.encryptionService = encryptionService;
+        this.cardNumberGenerator = cardNumberGenerator;
+        this.objectMapper = objectMapper;
     }
 
     public CardResponse createCard(CardCreateRequest request, User currentUser) {
@@ -62,7 +91,7 @@ public class CardService {
         User owner = currentUser;
         boolean isAdmin = false;
         if (request.getOwnerId() != null) {
-            isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+            isAdmin = currentUser.isAdmin();
             if (!isAdmin) {
                 throw new AccessDeniedException("Only administrators can create cards for other users");
             }
@@ -70,16 +99,19 @@ public class CardService {
                     .orElseThrow(() -> new BusinessException("User not found"));
         }
 
-        String cardNumber = generateCardNumber();
+        // Generated numbers are unique by construction, no uniqueness probe needed
+        String cardNumber = cardNumberGenerator.generate();
         String encryptedCardNumber = encryptionService.encrypt(cardNumber);
         String maskedCardNumber = encryptionService.maskCardNumber(cardNumber);
 
         Card card = new Card();
         card.setCardNumber(encryptedCardNumber);
+        card.setCardNumberHash(encryptionService.blindIndex(cardNumber));
         card.setMaskedCardNumber(maskedCardNumber);
         card.setOwner(owner);
         card.setExpiryDate(request.getExpiryDate() != null ? request.getExpiryDate() : LocalDate.now().plusYears(3));
-        card.setBalance(request.getInitialBalance() != null ? request.getInitialBalance() : BigDecimal.ZERO);
+        card.setBalance(request.getInitialBalance() != null ? MinorUnits.of(request.getInitialBalance()) : 0L);
+        card.setCurrency(fxRateService.resolveCurrency(request.getCurrency()));
         card.setStatus(CardStatus.ACTIVE);
         card.setCreatedAt(LocalDateTime.now());
 
@@ -92,7 +124,7 @@ public class CardService {
         Page<Card> cards;
         boolean isAdmin = false;
 
-        isAdmin = user.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        isAdmin = user.isAdmin();
         if (isAdmin) {
             cards = cardRepository.findAll(pageable);
         } else {
@@ -105,7 +137,7 @@ public class CardService {
     @Transactional(readOnly = true)
     public Page<CardResponse> getCards(User currentUser, Long userId, String cardNumber, CardStatus status, Pageable pageable) {
         Page<Card> cards;
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
         if (isAdmin) {
 
             if (cardNumber != null && status != null && userId != null) {
@@ -140,14 +172,80 @@ public class CardService {
     }
 
 
+    /**
+     * Writes one keyset page of all cards as an {@code ApiResponse} with a {@code PageResponse}
+     * body, straight from the database cursor. Items go out as they are read; the cursor and the
+     * optional total follow them, so nothing is collected in memory first.
+     */
+    @Transactional(readOnly = true)
+    public void writeCardPage(OutputStream out, long afterId, int limit, boolean includeTotal) throws IOException {
+        try (Stream<Card> cards = cardRepository.streamByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", "Success");
+            generator.writeObjectFieldStart("data");
+
+            generator.writeArrayFieldStart("items");
+            Iterator<Card> iterator = cards.iterator();
+            Long lastId = null;
+            int written = 0;
+            boolean more = false;
+            while (iterator.hasNext()) {
+                Card card = iterator.next();
+                if (written == limit) {
+                    more = true;
+                    break;
+                }
+                generator.writeObject(mapToResponse(card, true));
+                lastId = card.getId();
+                written++;
+            }
+            generator.writeEndArray();
+
+            generator.writeStringField("nextCursor", more ? String.valueOf(lastId) : null);
+            if (includeTotal) {
+                generator.writeNumberField("total", cardRepository.count());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Returns the ETag {@link #getCardById} would produce, from a single projection query and
+     * with the same access rules. Returns null when the stored status is about to change
+     * because the card expired, or when the balance can change without the card row, so the
+     * caller falls through to a full read.
+     */
+    @Transactional(readOnly = true)
+    public String getCardETag(Long cardId, User currentUser) {
+        CardVersion card = cardRepository.findVersionById(cardId)
+                .orElseThrow(() -> new BusinessException("Card not found"));
+
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin && !currentUser.getId().equals(card.getOwnerId())) {
+            throw new AccessDeniedException("Access denied to this card");
+        }
+
+        boolean expiring = card.getStatus() == CardStatus.ACTIVE
+                && (card.getExpiryDate() == null || LocalDate.now().isAfter(card.getExpiryDate()));
+        // Sub-balance writes and journaled credits leave the card row alone, so its version says nothing about the balance
+        if (expiring || card.getBalanceShards() > 0 || card.isJournaledCredits()) {
+            return null;
+        }
+        return ETags.of("card", cardId, card.getVersion(), card.getUpdatedAt(), isAdmin ? "full" : "masked");
+    }
+
     @Transactional(readOnly = true)
     public CardResponse getCardById(Long cardId, User currentUser) {
         boolean isAdmin;
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new BusinessException("Card not found"));
 
-        isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
-        if (!isAdmin && !card.getOwner().getId().equals(currentUser.getId())) {
+        isAdmin = currentUser.isAdmin();
+        if (!isAdmin && !card.isOwnedBy(currentUser)) {
             throw new AccessDeniedException("Access denied to this card");
         }
 
@@ -162,8 +260,8 @@ public class CardService {
                 .orElseThrow(() -> new BusinessException("Card not found"));
 
         // admins can block any card
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
-        if (!isAdmin && !card.getOwner().getId().equals(currentUser.getId())) {
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin && !card.isOwnedBy(currentUser)) {
             throw new AccessDeniedException("Access denied to this card");
         }
 
@@ -179,17 +277,14 @@ public class CardService {
         card.setUpdatedAt(LocalDateTime.now());
         card = cardRepository.save(card);
 
-        // Update any pending block requests to APPROVED or REJECTED
-        CardBlock cardBlock = cardBlockRepository.findByCard(card);
-        cardBlock.setStatus(CardBlockStatus.APPROVED);
-        cardBlock.setUpdatedAt(LocalDateTime.now());
-        cardBlockRepository.save(cardBlock);
+        // Any requests still waiting to block this card are now satisfied
+        cardBlockService.approvePending(card, currentUser);
 
         return mapToResponse(card, isAdmin);
     }
 
     public CardResponse activateCard(Long cardId, User currentUser) {
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
         if (!isAdmin) {
             throw new AccessDeniedException("Only administrators can activate cards");
         }
@@ -210,7 +305,7 @@ public class CardService {
 
     public void deleteCard(Long cardId, User currentUser) {
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
         if (!isAdmin) {
             throw new AccessDeniedException("Only administrators can delete cards");
         }
@@ -218,7 +313,7 @@ public class CardService {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new BusinessException("Card not found"));
 
-        if (card.getBalance().compareTo(BigDecimal.ZERO) > 0) {
+        if (card.getBalance() > 0) {
             throw new BusinessException("Cannot delete card with positive balance");
         }
 
@@ -230,8 +325,8 @@ public class CardService {
         Card card = cardRepository.findById(request.getCardId())
                 .orElseThrow(() -> new BusinessException("Card not found"));
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
-        if (!isAdmin && !card.getOwner().getId().equals(currentUser.getId())) {
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin && !card.isOwnedBy(currentUser)) {
             throw new AccessDeniedException("Access denied to this card");
         }
 
@@ -239,13 +334,19 @@ public class CardService {
             throw new BusinessException("Card is not active");
         }
 
-        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        long amount = MinorUnits.of(request.getAmount());
+        if (amount <= 0) {
             throw new BusinessException("Credit amount must be positive");
         }
 
-        card.setBalance(card.getBalance().add(request.getAmount()));
-        card.setUpdatedAt(LocalDateTime.now());
-        card = cardRepository.save(card);
+        // Write-behind credits are journaled now and reach the balance column on the next flush.
+        // Sharded cards already spread their credits over shard rows and never read the column.
+        if (creditAccumulator.isEnabled() && !card.isBalanceSharded()) {
+            creditAccumulator.append(card, amount);
+        } else {
+            applyCredit(card, amount);
+        }
+        cardLedger.credit(card, amount);
 
         return mapToResponse(card, isAdmin);
     }
@@ -255,8 +356,8 @@ public class CardService {
         Card card = cardRepository.findById(request.getCardId())
                 .orElseThrow(() -> new BusinessException("Card not found"));
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
-        if (!isAdmin && !card.getOwner().getId().equals(currentUser.getId())) {
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin && !card.isOwnedBy(currentUser)) {
             throw new AccessDeniedException("Access denied to this card");
         }
 
@@ -264,34 +365,44 @@ public class CardService {
             throw new BusinessException("Card is not active");
         }
 
-        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        long amount = MinorUnits.of(request.getAmount());
+        if (amount <= 0) {
             throw new BusinessException("Debit amount must be positive");
         }
 
-        if (card.getBalance().compareTo(request.getAmount()) < 0) {
+        if (card.getBalance() < amount) {
             throw new BusinessException("Insufficient funds");
         }
 
-        card.setBalance(card.getBalance().subtract(request.getAmount()));
-        card.setUpdatedAt(LocalDateTime.now());
-        card = cardRepository.save(card);
+        fraudCheckService.check(RiskContext.debit(card.getId(), card.getOwner().getId(), amount));
+        spendingLimitService.reserve(card, amount);
+        applyDebit(card, amount);
+        cardLedger.debit(card, amount);
 
         return mapToResponse(card, isAdmin);
     }
 
     public TransferResponse transferFunds(TransferRequest request, User currentUser) {
+        return transferFunds(request.getFromCardId(), request.getToCardId(),
+                MinorUnits.of(request.getAmount()), request.getDescription(), currentUser);
+    }
 
-        Card fromCard = cardRepository.findById(request.getFromCardId())
+    /**
+     * Moves {@code amount} minor units between two cards on behalf of {@code currentUser},
+     * applying the same ownership, status and funds checks as a transfer request.
+     */
+    public TransferResponse transferFunds(Long fromCardId, Long toCardId, long amount, String description, User currentUser) {
+
+        Card fromCard = cardRepository.findById(fromCardId)
                 .orElseThrow(() -> new BusinessException("Source card not found"));
 
-        Card toCard = cardRepository.findById(request.getToCardId())
+        Card toCard = cardRepository.findById(toCardId)
                 .orElseThrow(() -> new BusinessException("Destination card not found"));
 
         // Validate ownership - users can only transfer between their own cards
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
         if (!isAdmin) {
-            if (!fromCard.getOwner().getId().equals(currentUser.getId()) ||
-                    !toCard.getOwner().getId().equals(currentUser.getId())) {
+            if (!fromCard.isOwnedBy(currentUser) || !toCard.isOwnedBy(currentUser)) {
                 throw new AccessDeniedException("You can only transfer between your own cards");
             }
         }
@@ -306,26 +417,36 @@ public class CardService {
         }
 
         // Validate amount
-        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount <= 0) {
             throw new BusinessException("Transfer amount must be positive");
         }
 
-        if (fromCard.getBalance().compareTo(request.getAmount()) < 0) {
+        if (fromCard.getBalance() < amount) {
             throw new BusinessException("Insufficient funds");
         }
 
+        fraudCheckService.check(RiskContext.transfer(fromCard.getId(), fromCard.getOwner().getId(), toCard.getId(), amount));
+        spendingLimitService.reserve(fromCard, amount);
+
         // Create transfer record
-        Transfer transfer = new Transfer(fromCard, toCard, request.getAmount(), request.getDescription());
+        Transfer transfer = new Transfer(fromCard, toCard, amount, description);
+
+        // The amount is in the source card's currency; the destination is credited in its own
+        long credited = amount;
+        if (!fromCard.getCurrency().equals(toCard.getCurrency())) {
+            BigDecimal rate = fxRateService.getRate(fromCard.getCurrency(), toCard.getCurrency());
+            credited = MinorUnits.convert(amount, rate);
+            if (credited <= 0) {
+                throw new BusinessException("Transfer amount is too small to convert");
+            }
+            transfer.setFxRate(rate);
+            transfer.setToAmount(credited);
+        }
 
         try {
             // Perform the transfer
-            fromCard.setBalance(fromCard.getBalance().subtract(request.getAmount()));
-            toCard.setBalance(toCard.getBalance().add(request.getAmount()));
-            fromCard.setUpdatedAt(LocalDateTime.now());
-            toCard.setUpdatedAt(LocalDateTime.now());
-
-            cardRepository.save(fromCard);
-            cardRepository.save(toCard);
+            applyDebit(fromCard, amount);
+            applyCredit(toCard, credited);
 
             transfer.setStatus(TransferStatus.COMPLETED);
             transfer.setProcessedAt(LocalDateTime.now());
@@ -336,62 +457,75 @@ public class CardService {
         } finally {
             transfer = transferRepository.save(transfer);
         }
+        cardLedger.transfer(transfer);
 
         return mapTransferToResponse(transfer);
     }
 
-    public CardBlockResponse createCardBlockRequest(CardBlockRequest request, User currentUser) {
+    public CardResponse setBalanceShards(Long cardId, int count, User currentUser) {
+        if (!currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only administrators can change balance sharding");
+        }
 
-        Card card = cardRepository.findById(request.getCardId())
+        cardBalanceShardService.reshard(cardId, count);
+        Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new BusinessException("Card not found"));
+        return mapToResponse(card, true);
+    }
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
-        if (!isAdmin && !card.getOwner().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("Access denied to this card");
-        }
+    @Transactional(readOnly = true)
+    public CardLimitsResponse getCardLimits(Long cardId, User currentUser) {
+        Card card = cardRepository.findById(cardId)
+                .orElseThrow(() -> new BusinessException("Card not found"));
 
-        // Validate cards status
-        if (!card.isActive()) {
-            throw new BusinessException("Card is not active");
+        if (!currentUser.isAdmin() && !card.isOwnedBy(currentUser)) {
+            throw new AccessDeniedException("Access denied to this card");
         }
 
-        CardBlock cardBlock = new CardBlock();
-        cardBlock.setCard(card);
-        cardBlock.setStatus(CardBlockStatus.PENDING);
-        cardBlock.setDescription(request.getDescription());
-        cardBlock.setCreatedAt(LocalDateTime.now());
-        cardBlockRepository.save(cardBlock);
+        return spendingLimitService.describe(card);
+    }
 
-        return mapCardBlockToResponse(cardBlock);
+    public CardLimitsResponse setCardLimits(Long cardId, CardLimitsRequest request, User currentUser) {
+        if (!currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only administrators can change card limits");
+        }
 
-    }
+        Card card = cardRepository.findById(cardId)
+                .orElseThrow(() -> new BusinessException("Card not found"));
 
-    @Transactional(readOnly = true)
-    public Page<CardBlockResponse> getCardBlocks(Pageable pageable) {
-        Page<CardBlock> cardBlocks = cardBlockRepository.findAll(pageable);
+        card.setDailyLimit(request.getDailyLimit() != null ? MinorUnits.of(request.getDailyLimit()) : null);
+        card.setMonthlyLimit(request.getMonthlyLimit() != null ? MinorUnits.of(request.getMonthlyLimit()) : null);
+        card.setUpdatedAt(LocalDateTime.now());
+        card = cardRepository.save(card);
 
-        return cardBlocks.map(this::mapCardBlockToResponse);
+        return spendingLimitService.describe(card);
     }
 
-    private String generateCardNumber() {
-        StringBuilder cardNumber = new StringBuilder();
-
-        // Generate 16-digit card number
-        for (int i = 0; i < 16; i++) {
-            cardNumber.append(random.nextInt(10));
+    // Sharded cards take the write on a sub-balance row and leave the card row unlocked
+    private void applyCredit(Card card, long amount) {
+        if (card.isBalanceSharded()) {
+            cardBalanceShardService.credit(card, amount);
+            return;
         }
+        card.addToBalance(amount);
+        card.setUpdatedAt(LocalDateTime.now());
+        cardRepository.save(card);
+    }
 
-        // Ensure uniqueness
-        String generated = cardNumber.toString();
-        while (cardRepository.existsByCardNumber(encryptionService.encrypt(generated))) {
-            cardNumber = new StringBuilder();
-            for (int i = 0; i < 16; i++) {
-                cardNumber.append(random.nextInt(10));
+    private void applyDebit(Card card, long amount) {
+        if (card.isBalanceSharded()) {
+            if (!cardBalanceShardService.debit(card, amount)) {
+                throw new BusinessException("Insufficient funds");
             }
-            generated = cardNumber.toString();
+            return;
         }
-
-        return generated;
+        if (card.getPendingCreditsMinor() != 0) {
+            // the column alone may not cover the debit until journaled credits are in it
+            card.foldPendingCredits(creditAccumulator.drain(card.getId()));
+        }
+        card.addToBalance(-amount);
+        card.setUpdatedAt(LocalDateTime.now());
+        cardRepository.save(card);
     }
 
     private CardResponse mapToResponse(Card card, boolean includeDecrypted) {
@@ -401,7 +535,8 @@ public class CardService {
         response.setOwnerName(card.getOwner().getFirstName() + " " + card.getOwner().getLastName());
         response.setExpiryDate(card.getExpiryDate());
         response.setStatus(card.getStatus());
-        response.setBalance(card.getBalance());
+        response.setBalance(MinorUnits.toDecimal(card.getBalance()));
+        response.setCurrency(card.getCurrency().getCurrencyCode());
         response.setCreatedAt(card.getCreatedAt());
 
         if (includeDecrypted) {
@@ -419,22 +554,17 @@ public class CardService {
         response.setId(transfer.getId());
         response.setFromCardMasked(transfer.getFromCard().getMaskedCardNumber());
         response.setToCardMasked(transfer.getToCard().getMaskedCardNumber());
-        response.setAmount(transfer.getAmount());
+        response.setAmount(MinorUnits.toDecimal(transfer.getAmount()));
+        if (transfer.getToAmount() != null) {
+            response.setConvertedAmount(MinorUnits.toDecimal(transfer.getToAmount()));
+            response.setFxRate(transfer.getFxRate());
+        }
         response.setStatus(transfer.getStatus());
         response.setDescription(transfer.getDescription());
         response.setProcessedAt(transfer.getProcessedAt());
         return response;
     }
 
-    private CardBlockResponse mapCardBlockToResponse(CardBlock cardBlock) {
-        CardBlockResponse response = new CardBlockResponse();
-        response.setId(cardBlock.getId());
-        response.setCardMasked(cardBlock.getCard().getMaskedCardNumber());
-        response.setStatus(cardBlock.getStatus());
-        response.setDescription(cardBlock.getDescription());
-        response.setCreatedAt(cardBlock.getCreatedAt());
-        return response;
-    }
 
 
 }
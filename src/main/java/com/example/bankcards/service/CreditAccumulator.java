@@ -0,0 +1,249 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind mode for credits. A credit is appended to {@code credit_journal} in the caller's
+ * transaction, so it is durable once the request commits, and never touches the card row.
+ * Committed amounts are summed per card in {@link LongAdder}s. A flusher wakes every
+ * {@code flush-interval} and, for each card that received credits, moves them into the balance
+ * with one statement that deletes the card's journal rows and adds their sum to {@code cards.balance}.
+ * <p>
+ * The journal is the source of truth and the adders only say which cards to flush. The delete and
+ * the update commit together, so a journal row is applied exactly once no matter which node flushes
+ * it. Sharded cards never read the column, so credits journaled before a card was sharded are
+ * flushed into its first shard instead. After a crash, the sweep flushes whatever the dead node left behind. Reads include unflushed
+ * credits through {@link Card#getBalance()}. The journal lookup behind that only runs for cards whose
+ * {@code journaled_credits} flag the first write-behind credit set, so cards that never took one
+ * load as before. The flags are cleared on startup when write-behind is off.
+ */
+@Component
+public class CreditAccumulator {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditAccumulator.class);
+
+    private static final String APPEND_SQL =
+            "INSERT INTO credit_journal (card_id, amount_minor, created_at) VALUES (:cardId, :amountMinor, :createdAt)";
+
+    // Turns on the card's pending-credit lookup; Hibernate never writes the flag, so no version bump
+    private static final String MARK_CARD_SQL =
+            "UPDATE cards SET journaled_credits = TRUE WHERE id = :cardId AND NOT journaled_credits";
+
+    // Only run while write-behind is off, when no node is appending any more
+    private static final String UNMARK_CARDS_SQL =
+            "UPDATE cards c SET journaled_credits = FALSE WHERE c.journaled_credits " +
+            "AND NOT EXISTS (SELECT 1 FROM credit_journal j WHERE j.card_id = c.id)";
+
+    // Version bump keeps a concurrent JPA write from overwriting the flushed amount
+    private static final String FLUSH_SQL =
+            "WITH j AS (DELETE FROM credit_journal WHERE card_id = :cardId RETURNING amount_minor) " +
+            "UPDATE cards SET balance = balance + (SELECT SUM(amount_minor) FROM j) / 100.0, version = version + 1 " +
+            "WHERE id = :cardId AND EXISTS (SELECT 1 FROM j)";
+
+    // Same row lock reshard takes, so a card cannot switch modes while its journal is flushed
+    private static final String LOCK_CARD_SQL =
+            "SELECT balance_shards FROM cards WHERE id = :cardId FOR UPDATE";
+
+    private static final String FLUSH_TO_SHARD_SQL =
+            "UPDATE card_balance_shards SET amount_minor = amount_minor + :amount WHERE card_id = :cardId AND shard = 0";
+
+    private static final String DRAIN_SQL =
+            "WITH j AS (DELETE FROM credit_journal WHERE card_id = :cardId RETURNING amount_minor) " +
+            "SELECT COALESCE(SUM(amount_minor), 0) FROM j";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final Duration flushInterval;
+
+    private final Duration sweepInterval;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final Timer flushTimer;
+
+    private volatile ScheduledExecutorService executor;
+
+    public CreditAccumulator(NamedParameterJdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.write-behind.enabled:false}") boolean enabled,
+                             @Value("${app.write-behind.flush-interval:5ms}") Duration flushInterval,
+                             @Value("${app.write-behind.sweep-interval:10s}") Duration sweepInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.sweepInterval = sweepInterval;
+        this.flushTimer = Timer.builder("bank.write_behind.flush")
+                .description("Time to move one card's journaled credits into its balance")
+                .register(meterRegistry);
+        Gauge.builder("bank.write_behind.pending", pending, CreditAccumulator::pendingMinor)
+                .description("Credits accumulated on this node and not yet flushed, in minor units")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Journals a credit in the current transaction. The card row is not written.
+     */
+    public void append(Card card, long amountMinor) {
+        jdbcTemplate.update(APPEND_SQL, new MapSqlParameterSource()
+                .addValue("cardId", card.getId())
+                .addValue("amountMinor", amountMinor)
+                .addValue("createdAt", Timestamp.valueOf(LocalDateTime.now())));
+        if (!card.isJournaledCredits()) {
+            jdbcTemplate.update(MARK_CARD_SQL, new MapSqlParameterSource("cardId", card.getId()));
+        }
+        card.applyPendingCredit(amountMinor);
+
+        Long cardId = card.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.computeIfAbsent(cardId, id -> new LongAdder()).add(amountMinor);
+            }
+        });
+    }
+
+    /**
+     * Removes the card's journaled credits inside the current transaction and returns their sum,
+     * for writers that are about to update the balance column themselves.
+     */
+    public long drain(Long cardId) {
+        Long drained = jdbcTemplate.queryForObject(DRAIN_SQL, new MapSqlParameterSource("cardId", cardId), Long.class);
+        return drained != null ? drained : 0L;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Replays whatever a crashed node left in the journal, even when write-behind is now off
+        sweep();
+        if (!enabled) {
+            unmarkCards();
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "credit-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushPending, flushInterval.toMillis(), Math.max(1, flushInterval.toMillis()), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::sweep, sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        ScheduledExecutorService current = executor;
+        if (current != null) {
+            current.shutdown();
+            current.awaitTermination(5, TimeUnit.SECONDS);
+            flushPending(); // leave as little as possible for the next start to replay
+        }
+    }
+
+    void flushPending() {
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            if (entry.getValue().sumThenReset() == 0) {
+                // credits landing right after this are still journaled and picked up by the sweep
+                pending.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            flush(entry.getKey());
+        }
+    }
+
+    // Flushes journal rows older than one sweep, which no live node is going to flush itself
+    void sweep() {
+        try {
+            List<Long> cardIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT card_id FROM credit_journal WHERE created_at < :cutoff",
+                    new MapSqlParameterSource("cutoff", Timestamp.valueOf(LocalDateTime.now().minus(sweepInterval))),
+                    Long.class);
+            if (!cardIds.isEmpty()) {
+                log.info("Replaying journaled credits for {} cards", cardIds.size());
+            }
+            cardIds.forEach(this::flush);
+        } catch (RuntimeException e) {
+            log.error("Credit journal sweep failed", e);
+        }
+    }
+
+    // Cards with an empty journal go back to loading without the credit_journal lookup
+    private void unmarkCards() {
+        try {
+            int unmarked = jdbcTemplate.update(UNMARK_CARDS_SQL, new MapSqlParameterSource());
+            if (unmarked > 0) {
+                log.info("Write-behind is off, cleared the journaled-credits flag of {} cards", unmarked);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not clear journaled-credits flags", e);
+        }
+    }
+
+    private void flush(Long cardId) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> flushLocked(cardId)));
+        } catch (RuntimeException e) {
+            // rows stay in the journal and are retried by the sweep
+            log.warn("Could not flush journaled credits of card {}: {}", cardId, e.getMessage());
+        }
+    }
+
+    private void flushLocked(Long cardId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cardId", cardId);
+        List<Integer> shards = jdbcTemplate.queryForList(LOCK_CARD_SQL, params, Integer.class);
+        if (shards.isEmpty()) {
+            return; // card deleted, its journal rows went with it
+        }
+        if (shards.get(0) == 0) {
+            jdbcTemplate.update(FLUSH_SQL, params);
+            return;
+        }
+        long drained = drain(cardId);
+        if (drained != 0) {
+            jdbcTemplate.update(FLUSH_TO_SHARD_SQL, params.addValue("amount", drained));
+        }
+    }
+
+    private static double pendingMinor(Map<Long, LongAdder> pending) {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bankcards.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builds strong ETags from the entity version and last update time. The view is part of the
+ * tag because admins and owners get different representations of the same resource.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(String type, Long id, Long version, LocalDateTime updatedAt, String view) {
+        long updated = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return type + "-" + id + "-" + (version != null ? version : 0) + "-" + updated + "-" + view;
+    }
+}
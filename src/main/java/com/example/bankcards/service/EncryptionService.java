@@ -4,18 +4,37 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
+import java.util.HexFormat;
 
 @Service
 public class EncryptionService {
 
     private static final String ALGORITHM = "AES";
     private static final String TRANSFORMATION = "AES";
+    private static final String INDEX_ALGORITHM = "HmacSHA256";
 
     @Value("${app.encryption.key}")
     private String secretKey;
 
+    @Value("${app.encryption.index-key}")
+    private String indexKey;
+
+    // Mac instances are not thread-safe, keep one per thread
+    private final ThreadLocal<Mac> indexMac = ThreadLocal.withInitial(() -> {
+        try {
+            Mac mac = Mac.getInstance(INDEX_ALGORITHM);
+            mac.init(new SecretKeySpec(indexKey.getBytes(StandardCharsets.UTF_8), INDEX_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error initializing blind index: " + e.getMessage(), e);
+        }
+    });
+
     public String encrypt(String plainText) {
         try {
             SecretKeySpec key = new SecretKeySpec(secretKey.getBytes(), ALGORITHM);
@@ -42,6 +61,15 @@ public class EncryptionService {
         }
     }
 
+    /**
+     * Keyed hash of a card number used for equality lookups (uniqueness checks)
+     * without decrypting stored values.
+     */
+    public String blindIndex(String cardNumber) {
+        byte[] digest = indexMac.get().doFinal(cardNumber.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
     public String maskCardNumber(String cardNumber) {
 
         if (cardNumber == null || cardNumber.length() < 4) {
@@ -0,0 +1,226 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.MinorUnits;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.TransferRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams cards and transfers straight from a database cursor to the response.
+ * The persistence context is cleared every {@link #CLEAR_INTERVAL} rows so memory
+ * stays flat regardless of table size. Rows are ordered by id, so a client can
+ * resume an interrupted export by passing the last id it received.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private static final String CARD_CSV_HEADER = "id,masked_card_number,card_number,owner_id,expiry_date,status,balance,currency,created_at";
+
+    private static final String TRANSFER_CSV_HEADER = "id,from_card_id,from_card_masked,to_card_id,to_card_masked,amount,status,description,processed_at";
+
+    private final CardRepository cardRepository;
+
+    private final TransferRepository transferRepository;
+
+    private final EncryptionService encryptionService;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(CardRepository cardRepository, TransferRepository transferRepository, EncryptionService encryptionService, ObjectMapper objectMapper) {
+        this.cardRepository = cardRepository;
+        this.transferRepository = transferRepository;
+        this.encryptionService = encryptionService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCards(OutputStream out, Format format, boolean unmasked, long afterId) throws IOException {
+        try (Stream<Card> cards = cardRepository.streamByIdGreaterThan(afterId)) {
+            if (format == Format.NDJSON) {
+                writeCardsNdjson(cards.iterator(), out, unmasked);
+            } else {
+                writeCardsCsv(cards.iterator(), out, unmasked);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTransfers(OutputStream out, Format format, long afterId) throws IOException {
+        try (Stream<Transfer> transfers = transferRepository.streamByIdGreaterThan(afterId)) {
+            if (format == Format.NDJSON) {
+                writeTransfersNdjson(transfers.iterator(), out);
+            } else {
+                writeTransfersCsv(transfers.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCardsCsv(Iterator<Card> cards, OutputStream out, boolean unmasked) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CARD_CSV_HEADER);
+        writer.write('\n');
+
+        int rows = 0;
+        while (cards.hasNext()) {
+            Card card = cards.next();
+            writer.write(String.valueOf(card.getId()));
+            writer.write(',');
+            writeCsvField(writer, card.getMaskedCardNumber());
+            writer.write(',');
+            if (unmasked) {
+                writer.write(encryptionService.decrypt(card.getCardNumber()));
+            }
+            writer.write(',');
+            writer.write(String.valueOf(card.getOwner().getId()));
+            writer.write(',');
+            writer.write(String.valueOf(card.getExpiryDate()));
+            writer.write(',');
+            writer.write(card.getStatus().name());
+            writer.write(',');
+            writer.write(MinorUnits.toDecimal(card.getBalance()).toPlainString());
+            writer.write(',');
+            writer.write(card.getCurrency().getCurrencyCode());
+            writer.write(',');
+            writeCsvField(writer, card.getCreatedAt() != null ? card.getCreatedAt().toString() : null);
+            writer.write('\n');
+
+            if (++rows % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCardsNdjson(Iterator<Card> cards, OutputStream out, boolean unmasked) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        int rows = 0;
+        while (cards.hasNext()) {
+            Card card = cards.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", card.getId());
+            generator.writeStringField("maskedCardNumber", card.getMaskedCardNumber());
+            if (unmasked) {
+                generator.writeStringField("cardNumber", encryptionService.decrypt(card.getCardNumber()));
+            }
+            generator.writeNumberField("ownerId", card.getOwner().getId());
+            generator.writeStringField("expiryDate", String.valueOf(card.getExpiryDate()));
+            generator.writeStringField("status", card.getStatus().name());
+            generator.writeNumberField("balance", MinorUnits.toDecimal(card.getBalance()));
+            generator.writeStringField("currency", card.getCurrency().getCurrencyCode());
+            generator.writeStringField("createdAt", card.getCreatedAt() != null ? card.getCreatedAt().toString() : null);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            if (++rows % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+        generator.close();
+    }
+
+    private void writeTransfersCsv(Iterator<Transfer> transfers, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(TRANSFER_CSV_HEADER);
+        writer.write('\n');
+
+        int rows = 0;
+        while (transfers.hasNext()) {
+            Transfer transfer = transfers.next();
+            writer.write(String.valueOf(transfer.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(transfer.getFromCard().getId()));
+            writer.write(',');
+            writeCsvField(writer, transfer.getFromCard().getMaskedCardNumber());
+            writer.write(',');
+            writer.write(String.valueOf(transfer.getToCard().getId()));
+            writer.write(',');
+            writeCsvField(writer, transfer.getToCard().getMaskedCardNumber());
+            writer.write(',');
+            writer.write(MinorUnits.toDecimal(transfer.getAmount()).toPlainString());
+            writer.write(',');
+            writer.write(transfer.getStatus().name());
+            writer.write(',');
+            writeCsvField(writer, transfer.getDescription());
+            writer.write(',');
+            writeCsvField(writer, transfer.getProcessedAt() != null ? transfer.getProcessedAt().toString() : null);
+            writer.write('\n');
+
+            if (++rows % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeTransfersNdjson(Iterator<Transfer> transfers, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        int rows = 0;
+        while (transfers.hasNext()) {
+            Transfer transfer = transfers.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", transfer.getId());
+            generator.writeNumberField("fromCardId", transfer.getFromCard().getId());
+            generator.writeStringField("fromCardMasked", transfer.getFromCard().getMaskedCardNumber());
+            generator.writeNumberField("toCardId", transfer.getToCard().getId());
+            generator.writeStringField("toCardMasked", transfer.getToCard().getMaskedCardNumber());
+            generator.writeNumberField("amount", MinorUnits.toDecimal(transfer.getAmount()));
+            generator.writeStringField("status", transfer.getStatus().name());
+            generator.writeStringField("description", transfer.getDescription());
+            generator.writeStringField("processedAt", transfer.getProcessedAt() != null ? transfer.getProcessedAt().toString() : null);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            if (++rows % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+        generator.close();
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.FxRateResponse;
+import com.example.bankcards.entity.MinorUnits;
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exchange rates for cross-currency transfers. The {@code fx_rates} table is loaded into an
+ * {@link FxRateSnapshot} that is replaced as a whole on every refresh. Transfers read whichever
+ * snapshot is current, with no lock and no query; a refresh never changes a snapshot that a
+ * transfer is already using.
+ */
+@Service
+public class FxRateService {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO fx_rates (base_currency, quote_currency, rate, updated_at) VALUES (:base, :quote, :rate, :now) " +
+            "ON CONFLICT (base_currency, quote_currency) DO UPDATE SET rate = EXCLUDED.rate, updated_at = EXCLUDED.updated_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Currency defaultCurrency;
+
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>(FxRateSnapshot.EMPTY);
+
+    public FxRateService(NamedParameterJdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.fx.default-currency:USD}") String defaultCurrency) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultCurrency = Currency.getInstance(defaultCurrency);
+        if (!hasMinorUnitScale(this.defaultCurrency)) {
+            throw new IllegalStateException("app.fx.default-currency must have " + MinorUnits.SCALE + " decimal places: " + defaultCurrency);
+        }
+        Gauge.builder("bank.fx.snapshot.age", snapshot, FxRateService::ageSeconds)
+                .description("Seconds since exchange rates were last loaded")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public Currency getDefaultCurrency() {
+        return defaultCurrency;
+    }
+
+    /**
+     * Resolves a currency code from a request; null means the default currency.
+     */
+    public Currency resolveCurrency(String code) {
+        if (code == null) {
+            return defaultCurrency;
+        }
+        Currency currency;
+        try {
+            currency = Currency.getInstance(code.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Unknown currency: " + code);
+        }
+        if (!hasMinorUnitScale(currency)) {
+            throw new BusinessException("Currency not supported: " + code);
+        }
+        return currency;
+    }
+
+    // Amounts are stored in hundredths, so a currency with no or three decimal places
+    // (JPY, KRW, BHD) would accept amounts it cannot settle
+    static boolean hasMinorUnitScale(Currency currency) {
+        return currency.getDefaultFractionDigits() == MinorUnits.SCALE;
+    }
+
+    /**
+     * Rate from the current snapshot, units of {@code to} per unit of {@code from}.
+     */
+    public BigDecimal getRate(Currency from, Currency to) {
+        BigDecimal rate = snapshot.get().rate(from, to);
+        if (rate == null) {
+            throw new BusinessException("No exchange rate from " + from + " to " + to);
+        }
+        return rate;
+    }
+
+    @Scheduled(fixedDelayString = "${app.fx.refresh-interval:60000}")
+    public void refresh() {
+        try {
+            List<FxRateSnapshot.Rate> rates = jdbcTemplate.query(
+                    "SELECT base_currency, quote_currency, rate FROM fx_rates",
+                    (rs, rowNum) -> new FxRateSnapshot.Rate(
+                            Currency.getInstance(rs.getString("base_currency")),
+                            Currency.getInstance(rs.getString("quote_currency")),
+                            rs.getBigDecimal("rate")));
+            snapshot.set(FxRateSnapshot.of(rates, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // transfers keep converting at the last rates that loaded
+            log.error("Could not refresh exchange rates", e);
+        }
+    }
+
+    public List<FxRateResponse> getRates() {
+        return jdbcTemplate.query(
+                "SELECT base_currency, quote_currency, rate, updated_at FROM fx_rates ORDER BY base_currency, quote_currency",
+                (rs, rowNum) -> new FxRateResponse(
+                        rs.getString("base_currency"),
+                        rs.getString("quote_currency"),
+                        rs.getBigDecimal("rate"),
+                        rs.getTimestamp("updated_at").toLocalDateTime()));
+    }
+
+    /**
+     * Stores a rate and reloads this node's snapshot. Other nodes pick it up on their next refresh.
+     */
+    public FxRateResponse setRate(String baseCode, String quoteCode, BigDecimal rate) {
+        Currency base = resolveCurrency(baseCode);
+        Currency quote = resolveCurrency(quoteCode);
+        if (base.equals(quote)) {
+            throw new BusinessException("Base and quote currencies must differ");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(UPSERT_SQL, new MapSqlParameterSource()
+                .addValue("base", base.getCurrencyCode())
+                .addValue("quote", quote.getCurrencyCode())
+                .addValue("rate", rate)
+                .addValue("now", Timestamp.valueOf(now)));
+        refresh();
+        return new FxRateResponse(base.getCurrencyCode(), quote.getCurrencyCode(), rate, now);
+    }
+
+    private static double ageSeconds(AtomicReference<FxRateSnapshot> snapshot) {
+        LocalDateTime loadedAt = snapshot.get().getLoadedAt();
+        return loadedAt != null ? Duration.between(loadedAt, LocalDateTime.now()).toSeconds() : Double.NaN;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bankcards.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One immutable load of {@code fx_rates}. Inverse rates are worked out once here, so a lookup
+ * is two hash probes and never does arithmetic.
+ */
+public final class FxRateSnapshot {
+
+    static final FxRateSnapshot EMPTY = new FxRateSnapshot(Map.of(), null);
+
+    private static final int RATE_SCALE = 8;
+
+    private final Map<Currency, Map<Currency, BigDecimal>> rates;
+
+    private final LocalDateTime loadedAt;
+
+    private FxRateSnapshot(Map<Currency, Map<Currency, BigDecimal>> rates, LocalDateTime loadedAt) {
+        this.rates = rates;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Builds a snapshot from stored rates. A pair stored in one direction only is also
+     * available the other way round; a pair stored in both directions keeps both as given.
+     */
+    static FxRateSnapshot of(List<Rate> stored, LocalDateTime loadedAt) {
+        Map<Currency, Map<Currency, BigDecimal>> rates = new HashMap<>();
+        for (Rate rate : stored) {
+            rates.computeIfAbsent(rate.base(), c -> new HashMap<>()).put(rate.quote(), rate.rate());
+        }
+        for (Rate rate : stored) {
+            rates.computeIfAbsent(rate.quote(), c -> new HashMap<>())
+                    .putIfAbsent(rate.base(), BigDecimal.ONE.divide(rate.rate(), RATE_SCALE, RoundingMode.HALF_EVEN));
+        }
+
+        Map<Currency, Map<Currency, BigDecimal>> frozen = new HashMap<>();
+        rates.forEach((base, quotes) -> frozen.put(base, Map.copyOf(quotes)));
+        return new FxRateSnapshot(Map.copyOf(frozen), loadedAt);
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from}, or null when there is no rate for the pair.
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        Map<Currency, BigDecimal> quotes = rates.get(from);
+        return quotes != null ? quotes.get(to) : null;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    record Rate(Currency base, Currency quote, BigDecimal rate) {
+    }
+}
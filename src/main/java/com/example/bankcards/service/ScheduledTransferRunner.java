@@ -0,0 +1,300 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.ScheduledTransferProperties;
+import com.example.bankcards.dto.response.TransferResponse;
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.ScheduledTransferStatus;
+import com.example.bankcards.entity.enums.TransferFrequency;
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.ScheduledTransferRepository;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes due scheduled transfers. Each row carries a shard derived from its source card;
+ * every worker thread on every node polls only the shards of its slot, so transfers out of
+ * one card are executed by one worker at a time and replicas do not fight over the same rows.
+ * <p>
+ * A poll claims up to {@code batch-size} due rows in a single statement using
+ * {@code FOR UPDATE SKIP LOCKED}, tagging them with a per-poll token and a lease. Each claimed
+ * row is then executed in its own transaction that locks the row, checks the token is still
+ * ours, runs {@link CardService#transferFunds} and advances the schedule. The transfer and the
+ * schedule advance commit or roll back together, which is what makes a run happen exactly once:
+ * a node dying mid-batch only lets the lease lapse, and a stale claimant finds the token changed.
+ * Failed runs are retried with jittered exponential backoff; after {@code max-attempts} a one-off
+ * transfer fails and a recurring one skips to its next occurrence.
+ */
+@Component
+public class ScheduledTransferRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTransferRunner.class);
+
+    static final int SHARD_COUNT = 1024;
+
+    private static final String CLAIM_SQL =
+            "UPDATE scheduled_transfers SET claimed_by = :token, claimed_until = :claimedUntil " +
+            "WHERE id IN (SELECT id FROM scheduled_transfers " +
+            "WHERE status = 'ACTIVE' AND due_at <= :now AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "AND MOD(shard, :stride) = :slot ORDER BY due_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id";
+
+    private final ScheduledTransferProperties properties;
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+
+    private final UserRepository userRepository;
+
+    private final CardService cardService;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter completedCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private volatile ScheduledExecutorService executor;
+
+    public ScheduledTransferRunner(ScheduledTransferProperties properties, ScheduledTransferRepository scheduledTransferRepository, UserRepository userRepository, CardService cardService, NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.userRepository = userRepository;
+        this.cardService = cardService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completedCounter = runCounter(meterRegistry, "completed");
+        this.retriedCounter = runCounter(meterRegistry, "retried");
+        this.failedCounter = runCounter(meterRegistry, "failed");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int workers = Math.max(1, properties.getWorkers());
+        int nodeCount = Math.max(1, properties.getNodeCount());
+        int nodeIndex = Math.floorMod(properties.getNodeIndex(), nodeCount);
+        int stride = workers * nodeCount;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-transfers-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            int slot = nodeIndex * workers + i;
+            scheduleNextPoll(slot, stride);
+        }
+        log.info("Scheduled transfer runner started: {} workers, slots {}..{} of {}", workers, nodeIndex * workers, nodeIndex * workers + workers - 1, stride);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        ScheduledExecutorService current = executor;
+        if (current != null) {
+            current.shutdown();
+            current.awaitTermination(10, TimeUnit.SECONDS); // let the in-flight transfer commit
+        }
+    }
+
+    private void scheduleNextPoll(int slot, int stride) {
+        ScheduledExecutorService current = executor;
+        if (current == null || current.isShutdown()) {
+            return;
+        }
+        try {
+            current.schedule(() -> poll(slot, stride), jittered(properties.getPollInterval()).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    private void poll(int slot, int stride) {
+        try {
+            int claimed;
+            do {
+                claimed = runBatch(slot, stride);
+            } while (claimed >= properties.getBatchSize() && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.error("Scheduled transfer poll for slot {} failed", slot, e);
+        } finally {
+            scheduleNextPoll(slot, stride);
+        }
+    }
+
+    int runBatch(int slot, int stride) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(CLAIM_SQL, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("claimedUntil", Timestamp.valueOf(now.plus(properties.getClaimLease())))
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("stride", stride)
+                .addValue("slot", slot)
+                .addValue("limit", properties.getBatchSize()), Long.class));
+        ids.sort(null);
+
+        for (Long id : ids) {
+            if (Thread.currentThread().isInterrupted()) {
+                break; // unexecuted claims lapse with the lease
+            }
+            execute(id, token);
+        }
+        return ids.size();
+    }
+
+    private void execute(Long id, String token) {
+        try {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> runClaimed(id, token)))) {
+                completedCounter.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Scheduled transfer {} failed: {}", id, e.getMessage());
+            try {
+                recordFailure(id, token, e);
+            } catch (RuntimeException recordError) {
+                log.error("Could not record failure of scheduled transfer {}", id, recordError);
+            }
+        }
+    }
+
+    private boolean runClaimed(Long id, String token) {
+        ScheduledTransfer scheduled = scheduledTransferRepository.findByIdForUpdate(id).orElse(null);
+        if (scheduled == null || scheduled.getStatus() != ScheduledTransferStatus.ACTIVE || !token.equals(scheduled.getClaimedBy())) {
+            return false; // cancelled, or our lease lapsed and another poll owns it now
+        }
+
+        User owner = userRepository.findById(scheduled.getOwnerId())
+                .orElseThrow(() -> new BusinessException("Owner not found"));
+        TransferResponse transfer = cardService.transferFunds(
+                scheduled.getFromCard().getId(),
+                scheduled.getToCard().getId(),
+                scheduled.getAmount(),
+                scheduled.getDescription(), owner);
+
+        LocalDateTime now = LocalDateTime.now();
+        scheduled.setLastTransferId(transfer.getId());
+        scheduled.setAttempts(0);
+        scheduled.setLastError(null);
+        advance(scheduled, now);
+        release(scheduled, now);
+        return true;
+    }
+
+    private void recordFailure(Long id, String token, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> scheduledTransferRepository.findByIdForUpdate(id).ifPresent(scheduled -> {
+            if (scheduled.getStatus() != ScheduledTransferStatus.ACTIVE || !token.equals(scheduled.getClaimedBy())) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            scheduled.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+
+            int attempts = scheduled.getAttempts() + 1;
+            if (attempts >= properties.getMaxAttempts()) {
+                scheduled.setAttempts(0);
+                if (scheduled.getFrequency() == TransferFrequency.ONCE) {
+                    scheduled.setStatus(ScheduledTransferStatus.FAILED);
+                } else {
+                    advance(scheduled, now); // give up on this occurrence only
+                }
+                failedCounter.increment();
+            } else {
+                scheduled.setAttempts(attempts);
+                scheduled.setDueAt(now.plus(retryDelay(attempts, properties.getRetryBackoff(), properties.getMaxRetryBackoff())));
+                retriedCounter.increment();
+            }
+            release(scheduled, now);
+        }));
+    }
+
+    private static void advance(ScheduledTransfer scheduled, LocalDateTime now) {
+        LocalDateTime next = nextOccurrence(scheduled.getFrequency(), scheduled.getNextRunAt(), now);
+        if (next == null || scheduled.getEndDate() != null && next.toLocalDate().isAfter(scheduled.getEndDate())) {
+            scheduled.setStatus(ScheduledTransferStatus.COMPLETED);
+            return;
+        }
+        scheduled.setNextRunAt(next);
+        scheduled.setDueAt(next);
+    }
+
+    private static void release(ScheduledTransfer scheduled, LocalDateTime now) {
+        scheduled.setClaimedBy(null);
+        scheduled.setClaimedUntil(null);
+        scheduled.setUpdatedAt(now);
+    }
+
+    /**
+     * The first occurrence after {@code now}. Occurrences missed while the service was down
+     * collapse into the single run that just happened instead of firing back to back.
+     */
+    static LocalDateTime nextOccurrence(TransferFrequency frequency, LocalDateTime current, LocalDateTime now) {
+        if (frequency == TransferFrequency.ONCE) {
+            return null;
+        }
+        LocalDateTime next = current;
+        do {
+            next = switch (frequency) {
+                case DAILY -> next.plusDays(1);
+                case WEEKLY -> next.plusWeeks(1);
+                case MONTHLY -> next.plusMonths(1);
+                case ONCE -> throw new IllegalStateException();
+            };
+        } while (!next.isAfter(now));
+        return next;
+    }
+
+    // Exponential backoff with the upper half jittered so retries from a burst of failures spread out
+    static Duration retryDelay(int attempt, Duration base, Duration max) {
+        long exponential = base.toMillis() << Math.min(Math.max(attempt - 1, 0), 20);
+        long capped = Math.min(exponential, max.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    static int shardOf(Long cardId) {
+        return Math.floorMod(Long.hashCode(cardId * 0x9E3779B97F4A7C15L), SHARD_COUNT);
+    }
+
+    private static Duration jittered(Duration interval) {
+        long millis = interval.toMillis();
+        return Duration.ofMillis(Math.max(1, millis * 8 / 10 + ThreadLocalRandom.current().nextLong(millis * 4 / 10 + 1)));
+    }
+
+    private static Counter runCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("bank.scheduled_transfers.runs")
+                .description("Scheduled transfer executions by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.request.ScheduledTransferRequest;
+import com.example.bankcards.dto.response.ScheduledTransferResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.MinorUnits;
+import com.example.bankcards.entity.ScheduledTransfer;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.ScheduledTransferStatus;
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.ScheduledTransferRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creates and cancels future-dated and recurring transfers. Execution is done by
+ * {@link ScheduledTransferRunner}, which re-checks ownership and balances at run time.
+ */
+@Service
+@Transactional
+public class ScheduledTransferService {
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+
+    private final CardRepository cardRepository;
+
+    public ScheduledTransferService(ScheduledTransferRepository scheduledTransferRepository, CardRepository cardRepository) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.cardRepository = cardRepository;
+    }
+
+    public ScheduledTransferResponse schedule(ScheduledTransferRequest request, User currentUser) {
+        Card fromCard = cardRepository.findById(request.getFromCardId())
+                .orElseThrow(() -> new BusinessException("Source card not found"));
+
+        Card toCard = cardRepository.findById(request.getToCardId())
+                .orElseThrow(() -> new BusinessException("Destination card not found"));
+
+        // Same rule as immediate transfers: users can only move money between their own cards
+        boolean isAdmin = currentUser.isAdmin();
+        if (!isAdmin) {
+            if (!fromCard.isOwnedBy(currentUser) || !toCard.isOwnedBy(currentUser)) {
+                throw new AccessDeniedException("You can only transfer between your own cards");
+            }
+        }
+
+        if (fromCard.getId().equals(toCard.getId())) {
+            throw new BusinessException("Source and destination cards must differ");
+        }
+
+        if (!fromCard.isActive() || !toCard.isActive()) {
+            throw new BusinessException("Both cards must be active");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime firstRunAt = request.getFirstRunAt() != null ? request.getFirstRunAt() : now;
+        if (request.getEndDate() != null && request.getEndDate().isBefore(firstRunAt.toLocalDate())) {
+            throw new BusinessException("End date must not be before the first run");
+        }
+
+        ScheduledTransfer scheduled = new ScheduledTransfer();
+        scheduled.setOwnerId(currentUser.getId());
+        scheduled.setFromCard(fromCard);
+        scheduled.setToCard(toCard);
+        scheduled.setAmount(MinorUnits.of(request.getAmount()));
+        scheduled.setDescription(request.getDescription());
+        scheduled.setFrequency(request.getFrequency());
+        scheduled.setStatus(ScheduledTransferStatus.ACTIVE);
+        scheduled.setShard(ScheduledTransferRunner.shardOf(fromCard.getId()));
+        scheduled.setNextRunAt(firstRunAt);
+        scheduled.setDueAt(firstRunAt);
+        scheduled.setEndDate(request.getEndDate());
+        scheduled.setCreatedAt(now);
+        scheduled = scheduledTransferRepository.save(scheduled);
+
+        return mapToResponse(scheduled);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ScheduledTransferResponse> getScheduledTransfers(User currentUser, Pageable pageable) {
+        return scheduledTransferRepository.findByOwnerId(currentUser.getId(), pageable)
+                .map(this::mapToResponse);
+    }
+
+    public ScheduledTransferResponse cancel(Long id, User currentUser) {
+        // Waits for a run in progress, so a cancelled transfer never executes afterwards
+        ScheduledTransfer scheduled = scheduledTransferRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new BusinessException("Scheduled transfer not found"));
+
+        if (!currentUser.isAdmin() && !scheduled.getOwnerId().equals(currentUser.getId())) {
+            throw new AccessDeniedException("Access denied to this scheduled transfer");
+        }
+
+        if (scheduled.getStatus() != ScheduledTransferStatus.ACTIVE) {
+            throw new BusinessException("Scheduled transfer is not active");
+        }
+
+        scheduled.setStatus(ScheduledTransferStatus.CANCELLED);
+        scheduled.setClaimedBy(null);
+        scheduled.setClaimedUntil(null);
+        scheduled.setUpdatedAt(LocalDateTime.now());
+        return mapToResponse(scheduled);
+    }
+
+    private ScheduledTransferResponse mapToResponse(ScheduledTransfer scheduled) {
+        ScheduledTransferResponse response = new ScheduledTransferResponse();
+        response.setId(scheduled.getId());
+        response.setFromCardMasked(scheduled.getFromCard().getMaskedCardNumber());
+        response.setToCardMasked(scheduled.getToCard().getMaskedCardNumber());
+        response.setAmount(MinorUnits.toDecimal(scheduled.getAmount()));
+        response.setDescription(scheduled.getDescription());
+        response.setFrequency(scheduled.getFrequency());
+        response.setStatus(scheduled.getStatus());
+        response.setNextRunAt(scheduled.getNextRunAt());
+        response.setEndDate(scheduled.getEndDate());
+        response.setAttempts(scheduled.getAttempts());
+        response.setLastError(scheduled.getLastError());
+        response.setLastTransferId(scheduled.getLastTransferId());
+        response.setCreatedAt(scheduled.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.SpendingLimitProperties;
+import com.example.bankcards.dto.response.CardLimitsResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.MinorUnits;
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daily and monthly spending limits per card and per user. Debits and outgoing transfers count
+ * as spending. Each card and user has a pair of {@link SpendingWindow}s in memory: the last 24
+ * hours in 15-minute slots, and the last 30 days in day slots. A limit check is a few array
+ * updates and never queries the database.
+ * <p>
+ * Every spend is also written to {@code card_spend_log} in the caller's transaction, with limits
+ * off as well, because asynchronous risk scoring reads the same log. The log seeds the windows at startup. It also loads a card or user on first use when they were not
+ * seeded or were evicted. The amount is added to the windows when the check passes, so
+ * concurrent spends cannot both squeeze under a limit. It is taken back out if the transaction
+ * rolls back.
+ * <p>
+ * Windows only see spending on this node plus what was in the log when they were loaded. With
+ * several replicas, route a card's traffic to one node or accept per-node enforcement.
+ */
+@Service
+public class SpendingLimitService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendingLimitService.class);
+
+    static final long SLOT_SECONDS = 15 * 60;
+
+    static final int DAILY_SLOTS = 96; // 24 hours of 15-minute slots
+
+    static final long DAY_SECONDS = 24 * 60 * 60;
+
+    static final int MONTHLY_DAYS = 30;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO card_spend_log (card_id, owner_id, amount_minor, base_amount_minor, created_at) " +
+            "VALUES (:cardId, :ownerId, :amount, :baseAmount, :createdAt)";
+
+    private static final String SLOT = "CAST(FLOOR(EXTRACT(EPOCH FROM created_at) / " + SLOT_SECONDS + ") AS BIGINT)";
+
+    private static final String CARD_SPEND_SQL =
+            "SELECT " + SLOT + " AS slot, SUM(amount_minor) AS amount FROM card_spend_log " +
+            "WHERE card_id = :id AND created_at >= :from GROUP BY 1";
+
+    private static final String USER_SPEND_SQL =
+            "SELECT " + SLOT + " AS slot, SUM(base_amount_minor) AS amount FROM card_spend_log " +
+            "WHERE owner_id = :id AND created_at >= :from AND base_amount_minor IS NOT NULL GROUP BY 1";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final FxRateService fxRateService;
+
+    private final boolean enabled;
+
+    private final boolean seedOnStartup;
+
+    private final long cardDaily;
+
+    private final long cardMonthly;
+
+    private final long userDaily;
+
+    private final long userMonthly;
+
+    private final Map<Long, Windows> cards = new ConcurrentHashMap<>();
+
+    private final Map<Long, Windows> users = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public SpendingLimitService(NamedParameterJdbcTemplate jdbcTemplate,
+                                FxRateService fxRateService,
+                                SpendingLimitProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fxRateService = fxRateService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+        this.seedOnStartup = properties.isSeedOnStartup();
+        this.cardDaily = toLimit(properties.getCardDaily());
+        this.cardMonthly = toLimit(properties.getCardMonthly());
+        this.userDaily = toLimit(properties.getUserDaily());
+        this.userMonthly = toLimit(properties.getUserMonthly());
+        Gauge.builder("bank.limits.windows", cards, Map::size)
+                .description("Cards with spending windows in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts {@code amount} (minor units of the card's currency) against the card's and its
+     * owner's limits, or throws if that would exceed one of them. Must run in the transaction
+     * that moves the money. With limits off the spend is only logged.
+     */
+    public void reserve(Card card, long amount) {
+        if (!enabled) {
+            // no conversion: a missing rate must not fail a movement that no limit applies to
+            boolean defaultCurrency = card.getCurrency().equals(fxRateService.getDefaultCurrency());
+            logSpend(card, amount, defaultCurrency ? amount : null, LocalDateTime.now());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long epochSecond = now.toEpochSecond(ZoneOffset.UTC); // same clock as created_at in the log
+        long slot = epochSecond / SLOT_SECONDS;
+        long day = epochSecond / DAY_SECONDS;
+        Long ownerId = card.getOwner().getId();
+
+        Windows cardWindows = windowsFor(cards, card.getId(), CARD_SPEND_SQL);
+        if (!cardWindows.daily.tryAdd(slot, amount, dailyLimit(card))) {
+            throw rejected("card", "daily", "Daily spending limit exceeded for this card");
+        }
+        if (!cardWindows.monthly.tryAdd(day, amount, monthlyLimit(card))) {
+            cardWindows.daily.add(slot, -amount);
+            throw rejected("card", "monthly", "Monthly spending limit exceeded for this card");
+        }
+
+        Long baseAmount = null;
+        Windows userWindows = null;
+        try {
+            baseAmount = toDefaultCurrency(card, amount);
+            if (baseAmount != null) {
+                userWindows = windowsFor(users, ownerId, USER_SPEND_SQL);
+                if (!userWindows.daily.tryAdd(slot, baseAmount, userDaily)) {
+                    throw rejected("user", "daily", "Daily spending limit exceeded");
+                }
+                if (!userWindows.monthly.tryAdd(day, baseAmount, userMonthly)) {
+                    userWindows.daily.add(slot, -baseAmount);
+                    throw rejected("user", "monthly", "Monthly spending limit exceeded");
+                }
+            }
+        } catch (RuntimeException e) {
+            cardWindows.release(slot, day, amount);
+            throw e;
+        }
+
+        Windows reservedUser = userWindows;
+        Long reservedBase = baseAmount;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cardWindows.release(slot, day, amount);
+                    if (reservedUser != null) {
+                        reservedUser.release(slot, day, reservedBase);
+                    }
+                }
+            }
+        });
+
+        logSpend(card, amount, baseAmount, now);
+    }
+
+    private void logSpend(Card card, long amount, Long baseAmount, LocalDateTime now) {
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("cardId", card.getId())
+                .addValue("ownerId", card.getOwner().getId())
+                .addValue("amount", amount)
+                .addValue("baseAmount", baseAmount)
+                .addValue("createdAt", Timestamp.valueOf(now)));
+    }
+
+    public CardLimitsResponse describe(Card card) {
+        long epochSecond = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        Windows windows = windowsFor(cards, card.getId(), CARD_SPEND_SQL);
+
+        CardLimitsResponse response = new CardLimitsResponse();
+        response.setCardId(card.getId());
+        response.setCurrency(card.getCurrency().getCurrencyCode());
+        response.setDailyLimit(fromLimit(dailyLimit(card)));
+        response.setDailySpent(MinorUnits.toDecimal(windows.daily.total(epochSecond / SLOT_SECONDS)));
+        response.setMonthlyLimit(fromLimit(monthlyLimit(card)));
+        response.setMonthlySpent(MinorUnits.toDecimal(windows.monthly.total(epochSecond / DAY_SECONDS)));
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled || !seedOnStartup) {
+            return;
+        }
+        try {
+            int seededCards = seedInto(cards,
+                    "SELECT card_id AS id, " + SLOT + " AS slot, SUM(amount_minor) AS amount FROM card_spend_log " +
+                    "WHERE created_at >= :from GROUP BY 1, 2");
+            seedInto(users,
+                    "SELECT owner_id AS id, " + SLOT + " AS slot, SUM(base_amount_minor) AS amount FROM card_spend_log " +
+                    "WHERE created_at >= :from AND base_amount_minor IS NOT NULL GROUP BY 1, 2");
+            log.info("Seeded spending windows for {} cards", seededCards);
+        } catch (RuntimeException e) {
+            // windows load on first use instead
+            log.error("Could not seed spending windows", e);
+        }
+    }
+
+    // Drops windows with nothing left in them; they reload from the log if the card spends again
+    @Scheduled(fixedDelayString = "${app.limits.evict-interval:600000}")
+    public void evictIdle() {
+        long day = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / DAY_SECONDS;
+        cards.entrySet().removeIf(entry -> entry.getValue().monthly.total(day) == 0);
+        users.entrySet().removeIf(entry -> entry.getValue().monthly.total(day) == 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.limits.purge-interval:3600000}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("DELETE FROM card_spend_log WHERE created_at < :before",
+                new MapSqlParameterSource("before", Timestamp.valueOf(LocalDateTime.now().minusDays(MONTHLY_DAYS + 1))));
+        if (deleted > 0) {
+            log.info("Purged {} spend log rows older than the monthly window", deleted);
+        }
+    }
+
+    private long dailyLimit(Card card) {
+        return card.getDailyLimit() != null ? card.getDailyLimit() : cardDaily;
+    }
+
+    private long monthlyLimit(Card card) {
+        return card.getMonthlyLimit() != null ? card.getMonthlyLimit() : cardMonthly;
+    }
+
+    // Null when there are no user limits to convert for and no rate to convert with
+    private Long toDefaultCurrency(Card card, long amount) {
+        if (card.getCurrency().equals(fxRateService.getDefaultCurrency())) {
+            return amount;
+        }
+        if (userDaily == 0 && userMonthly == 0) {
+            return null;
+        }
+        return MinorUnits.convert(amount, fxRateService.getRate(card.getCurrency(), fxRateService.getDefaultCurrency()));
+    }
+
+    // Cold path: a card or user with no windows in memory is loaded from the log
+    private Windows windowsFor(Map<Long, Windows> map, Long id, String sql) {
+        Windows windows = map.get(id);
+        if (windows != null) {
+            return windows;
+        }
+        Windows loaded = new Windows();
+        jdbcTemplate.query(sql, new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("from", Timestamp.valueOf(LocalDateTime.now().minusDays(MONTHLY_DAYS))),
+                rs -> loaded.add(rs.getLong("slot"), rs.getLong("amount")));
+        Windows existing = map.putIfAbsent(id, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Windows already loaded on first use while seeding ran are complete and kept as they are
+    private int seedInto(Map<Long, Windows> map, String sql) {
+        Map<Long, Windows> seeded = new HashMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource("from", Timestamp.valueOf(LocalDateTime.now().minusDays(MONTHLY_DAYS))),
+                rs -> seeded.computeIfAbsent(rs.getLong("id"), id -> new Windows()).add(rs.getLong("slot"), rs.getLong("amount")));
+        seeded.forEach(map::putIfAbsent);
+        return seeded.size();
+    }
+
+    private BusinessException rejected(String scope, String window, String message) {
+        Counter.builder("bank.limits.rejected")
+                .description("Debits and transfers refused by a spending limit")
+                .tag("scope", scope)
+                .tag("window", window)
+                .register(meterRegistry)
+                .increment();
+        return new BusinessException(message);
+    }
+
+    private static long toLimit(BigDecimal limit) {
+        return limit != null ? MinorUnits.of(limit) : 0;
+    }
+
+    private static BigDecimal fromLimit(long limit) {
+        return limit > 0 ? MinorUnits.toDecimal(limit) : null;
+    }
+
+    // The last 24 hours and the last 30 days of one card's or user's spending
+    private static final class Windows {
+
+        final SpendingWindow daily = new SpendingWindow(DAILY_SLOTS);
+
+        final SpendingWindow monthly = new SpendingWindow(MONTHLY_DAYS);
+
+        void add(long slot, long amount) {
+            daily.add(slot, amount);
+            monthly.add(slot * SLOT_SECONDS / DAY_SECONDS, amount);
+        }
+
+        void release(long slot, long day, long amount) {
+            daily.add(slot, -amount);
+            monthly.add(day, -amount);
+        }
+    }
+}
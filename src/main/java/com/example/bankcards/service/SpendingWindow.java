@@ -0,0 +1,73 @@
+package com.example.bankcards.service;
+
+/**
+ * Running total over the last {@code slots} time slots, kept in a ring of per-slot sums.
+ * Moving forward zeroes the slots that fell out of the window and takes them off the total,
+ * so reading and adding cost the same however much was spent. Slot numbers are absolute
+ * (time divided by the slot length), which lets callers feed in history in any order.
+ */
+class SpendingWindow {
+
+    private final long[] amounts;
+
+    private long headSlot = Long.MIN_VALUE;
+
+    private long total;
+
+    SpendingWindow(int slots) {
+        this.amounts = new long[slots];
+    }
+
+    /**
+     * Adds {@code amount} to the window if the total stays within {@code limit}.
+     * A limit of 0 or less means no limit.
+     */
+    synchronized boolean tryAdd(long slot, long amount, long limit) {
+        advance(slot);
+        if (limit > 0 && total + amount > limit) {
+            return false;
+        }
+        amounts[index(slot)] += amount;
+        total += amount;
+        return true;
+    }
+
+    /**
+     * Adds to the slot it belongs to, or drops it if that slot is no longer in the window.
+     * Negative amounts take back an earlier add.
+     */
+    synchronized void add(long slot, long amount) {
+        advance(slot);
+        if (slot <= headSlot - amounts.length) {
+            return;
+        }
+        amounts[index(slot)] += amount;
+        total += amount;
+    }
+
+    synchronized long total(long slot) {
+        advance(slot);
+        return total;
+    }
+
+    private void advance(long slot) {
+        if (headSlot == Long.MIN_VALUE) {
+            headSlot = slot;
+            return;
+        }
+        if (slot <= headSlot) {
+            return;
+        }
+        long passed = Math.min(slot - headSlot, amounts.length);
+        for (long s = headSlot + 1; s <= headSlot + passed; s++) {
+            int i = index(s);
+            total -= amounts[i];
+            amounts[i] = 0;
+        }
+        headSlot = slot;
+    }
+
+    private int index(long slot) {
+        return (int) Math.floorMod(slot, (long) amounts.length);
+    }
+}
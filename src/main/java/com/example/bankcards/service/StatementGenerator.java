@@ -0,0 +1,203 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.StatementProperties;
+import com.example.bankcards.entity.MinorUnits;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one user's monthly statement: for each card, the opening balance, every credit, debit
+ * and transfer of the month from {@link CardLedger} with a running balance, and the closing balance.
+ * <p>
+ * Balances are not stored per month, so they are derived from the current balance: the closing
+ * balance is the current balance less the ledger entries after the month, and the opening
+ * balance is the closing balance less the month's entries. Everything for one user is read in
+ * a single read-only {@code REPEATABLE READ} transaction, so the balances and the lines come from
+ * the same snapshot. Entries are read per card through a keyset cursor on
+ * {@code (created_at, id)}, {@code fetch-size} rows at a time, and written straight to the file.
+ * The file is written under a temporary name and moved into place, so a statement is either
+ * complete or absent.
+ */
+@Component
+public class StatementGenerator {
+
+    static final String CSV_HEADER = "card,currency,date,type,transfer_id,counterparty,amount,balance,description";
+
+    // Sharded and write-behind money is part of the balance, see Card#getBalance()
+    static final String CARDS_SQL =
+            "SELECT c.id, c.masked_card_number, c.currency, c.balance, " +
+            "COALESCE((SELECT SUM(s.amount_minor) FROM card_balance_shards s WHERE s.card_id = c.id), 0) AS shard_minor, " +
+            "COALESCE((SELECT SUM(j.amount_minor) FROM credit_journal j WHERE j.card_id = c.id), 0) AS pending_minor " +
+            "FROM cards c WHERE c.owner_id = :userId AND (c.created_at IS NULL OR c.created_at < :end) ORDER BY c.id";
+
+    static final String TOTALS_SQL =
+            "SELECT COALESCE(SUM(amount_minor) FILTER (WHERE created_at < :end), 0) AS in_period, " +
+            "COALESCE(SUM(amount_minor) FILTER (WHERE created_at >= :end), 0) AS after_period " +
+            "FROM card_ledger WHERE card_id = :cardId AND created_at >= :start";
+
+    static final String LINES_SQL =
+            "SELECT l.id, l.created_at, l.entry_type, l.amount_minor, l.transfer_id, l.description, " +
+            "c.masked_card_number AS counterparty FROM card_ledger l LEFT JOIN cards c ON c.id = l.counterparty_card_id " +
+            "WHERE l.card_id = :cardId AND l.created_at >= :start AND l.created_at < :end " +
+            "AND (l.created_at, l.id) > (:afterAt, :afterId) ORDER BY l.created_at, l.id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int fetchSize;
+
+    public StatementGenerator(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, StatementProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.fetchSize = properties.getFetchSize();
+    }
+
+    /**
+     * Writes the statement of {@code userId} for {@code period} to {@code file}, replacing any
+     * earlier one. Returns false, and writes nothing, when the user had no cards in that month.
+     */
+    public boolean generate(long userId, YearMonth period, Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), userId + "-", ".tmp");
+            try {
+                boolean written;
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    written = Boolean.TRUE.equals(transactionTemplate.execute(status -> write(userId, period, writer)));
+                }
+                if (written) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return written;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write statement of user " + userId + " for " + period, e);
+        }
+    }
+
+    private boolean write(long userId, YearMonth period, Writer writer) {
+        LocalDateTime start = period.atDay(1).atStartOfDay();
+        LocalDateTime end = period.plusMonths(1).atDay(1).atStartOfDay();
+        List<Map<String, Object>> cards = jdbcTemplate.queryForList(CARDS_SQL, new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("end", Timestamp.valueOf(end)));
+        if (cards.isEmpty()) {
+            return false;
+        }
+
+        try {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (Map<String, Object> card : cards) {
+                writeCard(card, start, end, period, writer);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCard(Map<String, Object> card, LocalDateTime start, LocalDateTime end, YearMonth period, Writer writer) throws IOException {
+        long cardId = ((Number) card.get("id")).longValue();
+        String masked = (String) card.get("masked_card_number");
+        String currency = (String) card.get("currency");
+        long current = MinorUnits.add(
+                MinorUnits.add(MinorUnits.of((BigDecimal) card.get("balance")), ((Number) card.get("shard_minor")).longValue()),
+                ((Number) card.get("pending_minor")).longValue());
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cardId", cardId)
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end));
+        Map<String, Object> totals = jdbcTemplate.queryForMap(TOTALS_SQL, params);
+        long closing = MinorUnits.subtract(current, ((Number) totals.get("after_period")).longValue());
+        long opening = MinorUnits.subtract(closing, ((Number) totals.get("in_period")).longValue());
+
+        writeLine(writer, masked, currency, start.toLocalDate().toString(), "OPENING", null, null, null, opening, null);
+
+        long balance = opening;
+        Timestamp afterAt = Timestamp.valueOf(start);
+        long afterId = 0;
+        params.addValue("limit", fetchSize);
+        List<Map<String, Object>> page;
+        do {
+            page = jdbcTemplate.queryForList(LINES_SQL, params
+                    .addValue("afterAt", afterAt)
+                    .addValue("afterId", afterId));
+            for (Map<String, Object> row : page) {
+                long amount = ((Number) row.get("amount_minor")).longValue();
+                balance = MinorUnits.add(balance, amount);
+                afterAt = (Timestamp) row.get("created_at");
+                afterId = ((Number) row.get("id")).longValue();
+                Number transferId = (Number) row.get("transfer_id");
+                writeLine(writer, masked, currency, afterAt.toLocalDateTime().toString(), (String) row.get("entry_type"),
+                        transferId != null ? transferId.longValue() : null, (String) row.get("counterparty"),
+                        amount, balance, (String) row.get("description"));
+            }
+        } while (page.size() == fetchSize);
+
+        writeLine(writer, masked, currency, period.atEndOfMonth().toString(), "CLOSING", null, null, null, closing, null);
+    }
+
+    private static void writeLine(Writer writer, String card, String currency, String date, String type,
+                                  Long transferId, String counterparty, Long amount, long balance, String description) throws IOException {
+        writeCsvField(writer, card);
+        writer.write(',');
+        writer.write(currency);
+        writer.write(',');
+        writer.write(date);
+        writer.write(',');
+        writer.write(type);
+        writer.write(',');
+        if (transferId != null) {
+            writer.write(String.valueOf(transferId));
+        }
+        writer.write(',');
+        writeCsvField(writer, counterparty);
+        writer.write(',');
+        if (amount != null) {
+            writer.write(MinorUnits.toDecimal(amount).toPlainString());
+        }
+        writer.write(',');
+        writer.write(MinorUnits.toDecimal(balance).toPlainString());
+        writer.write(',');
+        writeCsvField(writer, description);
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.StatementProperties;
+import com.example.bankcards.dto.response.StatementRunResponse;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monthly statements as a partitioned batch job. A run for a month is a set of
+ * {@code statement_runs} rows, one per partition, and a partition is the users whose id modulo
+ * {@code partitions} equals its number. Worker threads on any node claim pending partitions with
+ * {@code FOR UPDATE SKIP LOCKED} and a lease, then walk their users in id order, {@code chunk-size}
+ * at a time, handing each to {@link StatementGenerator}. After every chunk the partition's
+ * checkpoint advances and the lease is renewed.
+ * <p>
+ * A node that stops mid-run leaves its partitions claimed until the lease lapses. Every node
+ * looks for unfinished runs with claimable partitions every {@code reclaim-interval} and at
+ * startup, so any node, this one after a restart included, then resumes them from the checkpoint. Users after the checkpoint
+ * may have their statement written twice, which only replaces the file. Each worker holds one
+ * connection at a time and pauses between chunks, so request traffic keeps most of the pool.
+ */
+@Service
+public class StatementService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementService.class);
+
+    private static final String CREATE_RUN_SQL =
+            "INSERT INTO statement_runs (period, partition_no, partitions, status) VALUES (:period, :partition, :partitions, 'PENDING') " +
+            "ON CONFLICT (period, partition_no) DO NOTHING";
+
+    private static final String CLAIM_SQL =
+            "UPDATE statement_runs SET status = 'RUNNING', claimed_by = :token, claimed_until = :claimedUntil, " +
+            "started_at = COALESCE(started_at, :now) " +
+            "WHERE (period, partition_no) IN (SELECT period, partition_no FROM statement_runs " +
+            "WHERE period = :period AND status <> 'COMPLETED' AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "ORDER BY partition_no LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING partition_no, partitions, last_user_id";
+
+    private static final String RECLAIMABLE_SQL =
+            "SELECT DISTINCT period FROM statement_runs " +
+            "WHERE status <> 'COMPLETED' AND (claimed_until IS NULL OR claimed_until < :now)";
+
+    private static final String USERS_SQL =
+            "SELECT id FROM users WHERE id > :afterId AND MOD(id, :partitions) = :partition ORDER BY id LIMIT :limit";
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE statement_runs SET last_user_id = :lastUserId, statements = statements + :statements, claimed_until = :claimedUntil " +
+            "WHERE period = :period AND partition_no = :partition AND claimed_by = :token";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE statement_runs SET status = 'COMPLETED', claimed_by = NULL, claimed_until = NULL, finished_at = :now " +
+            "WHERE period = :period AND partition_no = :partition AND claimed_by = :token";
+
+    private static final String RESTART_SQL =
+            "UPDATE statement_runs SET status = 'PENDING', last_user_id = 0, statements = 0, claimed_by = NULL, claimed_until = NULL, " +
+            "started_at = NULL, finished_at = NULL WHERE period = :period";
+
+    private final StatementProperties properties;
+
+    private final StatementGenerator statementGenerator;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor;
+
+    private final Set<YearMonth> running = ConcurrentHashMap.newKeySet();
+
+    private final Timer generationTimer;
+
+    private final Counter generatedCounter;
+
+    private final Counter failedCounter;
+
+    public StatementService(StatementProperties properties, StatementGenerator statementGenerator, NamedParameterJdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.statementGenerator = statementGenerator;
+        this.jdbcTemplate = jdbcTemplate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getWorkers()), runnable -> {
+            Thread thread = new Thread(runnable, "statements-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.generationTimer = Timer.builder("bank.statements.generation")
+                .description("Time to write one user's monthly statement")
+                .register(meterRegistry);
+        this.generatedCounter = Counter.builder("bank.statements.generated")
+                .description("Statements written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("bank.statements.failed")
+                .description("Statements that could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the run for a completed month if there is none yet and starts working on it.
+     * Starting a run that already exists resumes whatever is left of it; with {@code restart}
+     * every partition starts over, and workers still on the old run stop at their next checkpoint.
+     */
+    public StatementRunResponse start(YearMonth period, boolean restart) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new BusinessException("Statements can only be generated for completed months");
+        }
+
+        if (restart) {
+            jdbcTemplate.update(RESTART_SQL, new MapSqlParameterSource("period", Date.valueOf(period.atDay(1))));
+        }
+
+        int partitions = Math.max(1, properties.getPartitions());
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            rows[partition] = new MapSqlParameterSource()
+                    .addValue("period", Date.valueOf(period.atDay(1)))
+                    .addValue("partition", partition)
+                    .addValue("partitions", partitions);
+        }
+        jdbcTemplate.batchUpdate(CREATE_RUN_SQL, rows);
+
+        launch(period);
+        return getRun(period);
+    }
+
+    public StatementRunResponse getRun(YearMonth period) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT partitions, status, statements, started_at, finished_at FROM statement_runs WHERE period = :period",
+                new MapSqlParameterSource("period", Date.valueOf(period.atDay(1))));
+        if (rows.isEmpty()) {
+            throw new BusinessException("No statement run for " + period);
+        }
+
+        StatementRunResponse response = new StatementRunResponse();
+        response.setPeriod(period);
+        response.setPartitions(((Number) rows.get(0).get("partitions")).intValue());
+        boolean anyStarted = false;
+        for (Map<String, Object> row : rows) {
+            String status = (String) row.get("status");
+            if ("COMPLETED".equals(status)) {
+                response.setCompletedPartitions(response.getCompletedPartitions() + 1);
+            }
+            anyStarted |= !"PENDING".equals(status);
+            response.setStatements(response.getStatements() + ((Number) row.get("statements")).longValue());
+            LocalDateTime startedAt = toLocalDateTime(row.get("started_at"));
+            if (startedAt != null && (response.getStartedAt() == null || startedAt.isBefore(response.getStartedAt()))) {
+                response.setStartedAt(startedAt);
+            }
+            LocalDateTime finishedAt = toLocalDateTime(row.get("finished_at"));
+            if (finishedAt != null && (response.getFinishedAt() == null || finishedAt.isAfter(response.getFinishedAt()))) {
+                response.setFinishedAt(finishedAt);
+            }
+        }
+        boolean completed = response.getCompletedPartitions() == rows.size();
+        response.setStatus(completed ? "COMPLETED" : anyStarted ? "RUNNING" : "PENDING");
+        if (!completed) {
+            response.setFinishedAt(null);
+        }
+        return response;
+    }
+
+    /**
+     * The user's statement file for a month, once their partition has reached them.
+     */
+    public Path getStatement(User currentUser, YearMonth period) {
+        Path file = statementPath(currentUser.getId(), period);
+        if (!Files.isRegularFile(file)) {
+            throw new BusinessException("Statement not available");
+        }
+        return file;
+    }
+
+    @Scheduled(cron = "${app.statements.cron:0 0 1 1 * *}")
+    public void generatePreviousMonth() {
+        if (properties.isEnabled()) {
+            start(YearMonth.now().minusMonths(1), false);
+        }
+    }
+
+    // Picks up runs that were in progress when this node, or the whole cluster, went down
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        reclaim();
+    }
+
+    // Partitions of a node that died mid-run, once their lease has lapsed; live workers have already exited
+    @Scheduled(fixedDelayString = "${app.statements.reclaim-interval:60000}", initialDelayString = "${app.statements.reclaim-interval:60000}")
+    public void reclaim() {
+        try {
+            jdbcTemplate.queryForList(RECLAIMABLE_SQL,
+                            new MapSqlParameterSource("now", Timestamp.valueOf(LocalDateTime.now())), Date.class)
+                    .forEach(period -> launch(YearMonth.from(period.toLocalDate())));
+        } catch (RuntimeException e) {
+            log.error("Could not resume statement runs", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdownNow(); // partitions in progress resume from their checkpoint once the lease lapses
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    Path statementPath(long userId, YearMonth period) {
+        return Paths.get(properties.getDirectory(), period.toString(), String.valueOf(userId / 1000), userId + ".csv");
+    }
+
+    private void launch(YearMonth period) {
+        if (!running.add(period)) {
+            return; // this node is already working on it
+        }
+        int workers = Math.max(1, properties.getWorkers());
+        AtomicInteger remaining = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted() && claimAndRun(period)) {
+                        // next partition
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Statement worker for {} failed", period, e);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        running.remove(period);
+                        log.info("No statement partitions left to claim for {}", period);
+                    }
+                }
+            });
+        }
+    }
+
+    // Returns false when no partition of the run was free to claim
+    private boolean claimAndRun(YearMonth period) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        Date periodDate = Date.valueOf(period.atDay(1));
+        List<Map<String, Object>> claimed = jdbcTemplate.queryForList(CLAIM_SQL, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("claimedUntil", Timestamp.valueOf(now.plus(properties.getClaimLease())))
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("period", periodDate));
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Object> row = claimed.get(0);
+        int partition = ((Number) row.get("partition_no")).intValue();
+        int partitions = ((Number) row.get("partitions")).intValue();
+        long lastUserId = ((Number) row.get("last_user_id")).longValue();
+        log.info("Generating statements for {}, partition {} of {}, from user {}", period, partition, partitions, lastUserId);
+        runPartition(period, periodDate, partition, partitions, lastUserId, token);
+        return true;
+    }
+
+    private void runPartition(YearMonth period, Date periodDate, int partition, int partitions, long lastUserId, String token) {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> userIds = jdbcTemplate.queryForList(USERS_SQL, new MapSqlParameterSource()
+                    .addValue("afterId", lastUserId)
+                    .addValue("partitions", partitions)
+                    .addValue("partition", partition)
+                    .addValue("limit", properties.getChunkSize()), Long.class);
+            if (userIds.isEmpty()) {
+                jdbcTemplate.update(COMPLETE_SQL, new MapSqlParameterSource()
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                        .addValue("period", periodDate)
+                        .addValue("partition", partition)
+                        .addValue("token", token));
+                return;
+            }
+
+            int written = 0;
+            for (Long userId : userIds) {
+                if (generate(userId, period)) {
+                    written++;
+                }
+            }
+            lastUserId = userIds.get(userIds.size() - 1);
+
+            int updated = jdbcTemplate.update(CHECKPOINT_SQL, new MapSqlParameterSource()
+                    .addValue("lastUserId", lastUserId)
+                    .addValue("statements", written)
+                    .addValue("claimedUntil", Timestamp.valueOf(LocalDateTime.now().plus(properties.getClaimLease())))
+                    .addValue("period", periodDate)
+                    .addValue("partition", partition)
+                    .addValue("token", token));
+            if (updated == 0) {
+                log.warn("Lost the claim on statement partition {} of {}, leaving it to its new owner", partition, period);
+                return;
+            }
+
+            try {
+                Thread.sleep(properties.getChunkPause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean generate(long userId, YearMonth period) {
+        try {
+            boolean written = Boolean.TRUE.equals(generationTimer.recordCallable(
+                    () -> statementGenerator.generate(userId, period, statementPath(userId, period))));
+            if (written) {
+                generatedCounter.increment();
+            }
+            return written;
+        } catch (Exception e) {
+            // one broken user must not hold up the partition; a restarted run tries them again
+            failedCounter.increment();
+            log.error("Could not generate statement of user {} for {}", userId, period, e);
+            return false;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.BalanceStatsResponse;
+import com.example.bankcards.dto.response.StatsResponse;
+import com.example.bankcards.dto.response.TransferVolumeResponse;
+import com.example.bankcards.dto.response.UserCardStatsResponse;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Admin totals served from precomputed aggregates instead of scanning {@code cards} and
+ * {@code transfers} per request. Balances by status and cards per user are materialized views
+ * refreshed with {@code REFRESH ... CONCURRENTLY}, so readers are never blocked. Transfer volume
+ * per day is kept in {@code transfer_daily_stats}, and each refresh recomputes only the days since
+ * the last one through the {@code processed_at} index. One node refreshes at a time, under an
+ * advisory lock, and every answer carries the time of the refresh it comes from.
+ * <p>
+ * The aggregates are not updated by the write paths themselves. Card balances change through JPA,
+ * shards, the credit journal and bulk issuance, and a counter row bumped by every transfer would
+ * serialize all of them. The figures are therefore up to one {@code refresh-interval} old.
+ */
+@Service
+public class StatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsService.class);
+
+    static final int MAX_DAYS = 366;
+
+    static final int MAX_TOP_USERS = 100;
+
+    static final long REFRESH_LOCK = 0x5354415453L; // "STATS"
+
+    static final String UPSERT_DAILY_SQL =
+            "INSERT INTO transfer_daily_stats (day, currency, transfers, amount) " +
+            "SELECT CAST(t.processed_at AS DATE), c.currency, COUNT(*), SUM(t.amount) " +
+            "FROM transfers t JOIN cards c ON c.id = t.from_card_id " +
+            "WHERE t.status = 'COMPLETED' AND t.processed_at >= :since GROUP BY 1, 2 " +
+            "ON CONFLICT (day, currency) DO UPDATE SET transfers = EXCLUDED.transfers, amount = EXCLUDED.amount";
+
+    static final String MARK_REFRESHED_SQL =
+            "INSERT INTO stats_refreshes (name, refreshed_at) VALUES ('stats', :now) " +
+            "ON CONFLICT (name) DO UPDATE SET refreshed_at = EXCLUDED.refreshed_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final UserRepository userRepository;
+
+    private final Timer refreshTimer;
+
+    public StatsService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.refreshTimer = Timer.builder("bank.stats.refresh")
+                .description("Time to refresh the admin statistics aggregates")
+                .register(meterRegistry);
+    }
+
+    public StatsResponse<BalanceStatsResponse> getBalances() {
+        List<BalanceStatsResponse> items = jdbcTemplate.query(
+                "SELECT status, currency, cards, balance FROM card_balance_stats ORDER BY status, currency",
+                (rs, rowNum) -> new BalanceStatsResponse(
+                        CardStatus.valueOf(rs.getString("status")),
+                        rs.getString("currency"),
+                        rs.getLong("cards"),
+                        rs.getBigDecimal("balance")));
+        return new StatsResponse<>(getRefreshedAt(), items);
+    }
+
+    /**
+     * Completed transfer volume per day and source currency, {@code from} and {@code to} inclusive.
+     * Defaults to the last 30 days.
+     */
+    public StatsResponse<TransferVolumeResponse> getTransferVolume(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new BusinessException("Date range must not exceed " + MAX_DAYS + " days");
+        }
+
+        List<TransferVolumeResponse> items = jdbcTemplate.query(
+                "SELECT day, currency, transfers, amount FROM transfer_daily_stats WHERE day BETWEEN :start AND :end ORDER BY day, currency",
+                new MapSqlParameterSource()
+                        .addValue("start", Date.valueOf(start))
+                        .addValue("end", Date.valueOf(end)),
+                (rs, rowNum) -> new TransferVolumeResponse(
+                        rs.getDate("day").toLocalDate(),
+                        rs.getString("currency"),
+                        rs.getLong("transfers"),
+                        rs.getBigDecimal("amount")));
+        return new StatsResponse<>(getRefreshedAt(), items);
+    }
+
+    public StatsResponse<UserCardStatsResponse> getTopUsersByActiveCards(int limit) {
+        if (limit < 1 || limit > MAX_TOP_USERS) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_TOP_USERS);
+        }
+        List<UserCardStatsResponse> items = jdbcTemplate.query(
+                "SELECT user_id, active_cards, total_cards FROM user_card_stats ORDER BY active_cards DESC, user_id LIMIT :limit",
+                new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> new UserCardStatsResponse(rs.getLong("user_id"), rs.getLong("active_cards"), rs.getLong("total_cards")));
+        return new StatsResponse<>(getRefreshedAt(), items);
+    }
+
+    public StatsResponse<UserCardStatsResponse> getUserCardStats(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException("User not found");
+        }
+        List<UserCardStatsResponse> items = jdbcTemplate.query(
+                "SELECT user_id, active_cards, total_cards FROM user_card_stats WHERE user_id = :userId",
+                new MapSqlParameterSource("userId", userId),
+                (rs, rowNum) -> new UserCardStatsResponse(rs.getLong("user_id"), rs.getLong("active_cards"), rs.getLong("total_cards")));
+        if (items.isEmpty()) {
+            items = List.of(new UserCardStatsResponse(userId, 0, 0)); // no cards at the last refresh
+        }
+        return new StatsResponse<>(getRefreshedAt(), items);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.refresh-interval:60000}")
+    public void refresh() {
+        try {
+            refreshTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+                        new MapSqlParameterSource("key", REFRESH_LOCK), Boolean.class);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return; // another node is refreshing
+                }
+
+                jdbcTemplate.update("REFRESH MATERIALIZED VIEW CONCURRENTLY card_balance_stats", EmptySqlParameterSource.INSTANCE);
+                jdbcTemplate.update("REFRESH MATERIALIZED VIEW CONCURRENTLY user_card_stats", EmptySqlParameterSource.INSTANCE);
+
+                // The day before the latest one is redone too, for transfers that committed after midnight
+                Date latest = jdbcTemplate.queryForObject("SELECT MAX(day) FROM transfer_daily_stats",
+                        EmptySqlParameterSource.INSTANCE, Date.class);
+                LocalDateTime since = latest != null ? latest.toLocalDate().minusDays(1).atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+                jdbcTemplate.update(UPSERT_DAILY_SQL, new MapSqlParameterSource("since", Timestamp.valueOf(since)));
+
+                jdbcTemplate.update(MARK_REFRESHED_SQL, new MapSqlParameterSource("now", Timestamp.valueOf(LocalDateTime.now())));
+            }));
+        } catch (RuntimeException e) {
+            log.error("Statistics refresh failed", e);
+        }
+    }
+
+    private LocalDateTime getRefreshedAt() {
+        List<Timestamp> refreshedAt = jdbcTemplate.queryForList(
+                "SELECT refreshed_at FROM stats_refreshes WHERE name = 'stats'", EmptySqlParameterSource.INSTANCE, Timestamp.class);
+        return refreshedAt.isEmpty() ? null : refreshedAt.get(0).toLocalDateTime();
+    }
+}
@@ -6,6 +6,7 @@ import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.Role;
 import com.example.bankcards.exception.BusinessException;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.repository.UserVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -32,7 +33,7 @@ public class UserService {
 
     public UserResponse createUser(RegisterRequest request, User currentUser) {
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
         if (!isAdmin) {
             throw new AccessDeniedException("Only administrators can create users");
         }
@@ -61,7 +62,7 @@ public class UserService {
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(User currentUser, Pageable pageable) {
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
 
         if (!isAdmin) {
             throw new AccessDeniedException("Only administrators can view all users");
@@ -72,7 +73,7 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<UserResponse> getUsers(User currentUser, String username, String firstName, String lastName, Pageable pageable) {
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
 
         if (!isAdmin) {
             throw new AccessDeniedException("Only administrators can view all users");
@@ -91,10 +92,25 @@ public class UserService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public String getUserETag(Long userId, User currentUser) {
+
+        boolean isAdmin = currentUser.isAdmin();
+
+        if (!isAdmin && !currentUser.getId().equals(userId)) {
+            throw new AccessDeniedException("Access denied to this user");
+        }
+
+        UserVersion user = userRepository.findVersionById(userId)
+                .orElseThrow(() -> new BusinessException("User not found"));
+
+        return ETags.of("user", userId, user.getVersion(), user.getUpdatedAt(), "full");
+    }
+
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long userId, User currentUser) {
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
 
         if (!isAdmin && !currentUser.getId().equals(userId)) {
             throw new AccessDeniedException("Access denied to this user");
@@ -108,7 +124,7 @@ public class UserService {
 
     public UserResponse updateUser(Long userId, RegisterRequest request, User currentUser) {
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
 
         if (!isAdmin && !currentUser.getId().equals(userId)) {
             throw new AccessDeniedException("Access denied to this user");
@@ -165,7 +181,7 @@ public class UserService {
 
     public void deleteUser(Long userId, User currentUser) {
 
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> "ROLE_ADMIN".equals(role.name()));
+        boolean isAdmin = currentUser.isAdmin();
 
         if (!isAdmin) {
             throw new AccessDeniedException("Only administrators can delete users");
@@ -0,0 +1,35 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import org.springframework.stereotype.Component;
+
+// Flags amounts far above what the card usually moves
+@Component
+public class AmountSpikeRule implements RiskRule {
+
+    static final int SCORE = 40;
+
+    private final double factor;
+
+    private final long minSamples;
+
+    public AmountSpikeRule(RiskProperties properties) {
+        this.factor = properties.getSpikeFactor();
+        this.minSamples = properties.getSpikeMinSamples();
+    }
+
+    @Override
+    public String name() {
+        return "amount_spike";
+    }
+
+    @Override
+    public int score(RiskContext context, RiskFeatures features) {
+        if (features.samples() < minSamples) {
+            return 0;
+        }
+        // twice the mean as well, so cards that always move the same amount are not flagged for a cent more
+        double threshold = Math.max(features.meanAmount() + factor * features.stddevAmount(), 2 * features.meanAmount());
+        return context.amount() > threshold ? SCORE : 0;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import com.example.bankcards.service.CardBlockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Second look at movements the inline check marked for review, after they committed and off
+ * the request thread. Compares the card's last hour and last day in {@code card_spend_log}
+ * with its 30-day pattern. The movement being scored is already in the log; it is left out of
+ * the baseline, and the hourly check only counts the other movements of the hour, so a single
+ * large amount is scored once, by the inline spike rule. When the combined score reaches
+ * {@code auto-block-score}, a block request is filed for the card and lands in the admin queue.
+ * <p>
+ * Work goes through a bounded queue. When it is full, submissions are dropped and counted
+ * rather than slowing down the transactions that produce them.
+ */
+@Component
+public class AsyncRiskScorer {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncRiskScorer.class);
+
+    static final int VELOCITY_SCORE = 30;
+
+    static final int FREQUENCY_SCORE = 20;
+
+    private static final int VELOCITY_FACTOR = 10; // rest of the last hour against the average movement of the last 30 days
+
+    private static final int FREQUENCY_FACTOR = 5; // movements in the last day against the average day
+
+    static final String HISTORY_SQL =
+            "SELECT COALESCE(SUM(amount_minor) FILTER (WHERE created_at >= :hourAgo), 0) AS last_hour, " +
+            "COALESCE(SUM(amount_minor), 0) AS last_month, " +
+            "COUNT(*) FILTER (WHERE created_at >= :dayAgo) AS last_day_count, " +
+            "COUNT(*) AS last_month_count " +
+            "FROM card_spend_log WHERE card_id = :cardId AND created_at >= :monthAgo";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final CardBlockService cardBlockService;
+
+    private final int autoBlockScore;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer evaluationTimer;
+
+    private final Counter droppedCounter;
+
+    private final Counter autoBlockCounter;
+
+    public AsyncRiskScorer(NamedParameterJdbcTemplate jdbcTemplate,
+                           CardBlockService cardBlockService,
+                           RiskProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardBlockService = cardBlockService;
+        this.autoBlockScore = properties.getAutoBlockScore();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getAsyncWorkers(), properties.getAsyncWorkers(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getAsyncQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "risk-scorer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.evaluationTimer = Timer.builder("bank.risk.async_evaluation")
+                .description("Time to re-score a movement after commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("bank.risk.async_dropped")
+                .description("Movements not re-scored because the queue was full")
+                .register(meterRegistry);
+        this.autoBlockCounter = Counter.builder("bank.risk.auto_block")
+                .description("Block requests filed by asynchronous risk scoring")
+                .register(meterRegistry);
+    }
+
+    public void submit(RiskContext context, int inlineScore, List<String> reasons) {
+        try {
+            executor.execute(() -> evaluationTimer.record(() -> score(context, inlineScore, reasons)));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    void score(RiskContext context, int inlineScore, List<String> inlineReasons) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            History history = jdbcTemplate.queryForObject(HISTORY_SQL, new MapSqlParameterSource()
+                            .addValue("cardId", context.cardId())
+                            .addValue("hourAgo", Timestamp.valueOf(now.minusHours(1)))
+                            .addValue("dayAgo", Timestamp.valueOf(now.minusDays(1)))
+                            .addValue("monthAgo", Timestamp.valueOf(now.minusDays(30))),
+                    (rs, rowNum) -> new History(rs.getLong("last_hour"), rs.getLong("last_month"),
+                            rs.getLong("last_day_count"), rs.getLong("last_month_count")));
+
+            int score = inlineScore;
+            List<String> reasons = new ArrayList<>(inlineReasons);
+            // A card with no earlier movements has no pattern to compare against
+            long earlierCount = history != null ? history.lastMonthCount() - 1 : 0;
+            if (earlierCount > 0) {
+                long perMovement = Math.max(1, (history.lastMonth() - context.amount()) / earlierCount);
+                long restOfHour = Math.max(0, history.lastHour() - context.amount());
+                if (restOfHour > VELOCITY_FACTOR * perMovement) {
+                    score += VELOCITY_SCORE;
+                    reasons.add("hourly_velocity");
+                }
+                if (history.lastDayCount() > FREQUENCY_FACTOR * Math.max(1, earlierCount / 30)) {
+                    score += FREQUENCY_SCORE;
+                    reasons.add("daily_frequency");
+                }
+            }
+
+            if (score >= autoBlockScore) {
+                String description = "Automatic: risk score " + score + " " + reasons;
+                if (cardBlockService.createSystemRequest(context.cardId(), description)) {
+                    autoBlockCounter.increment();
+                    log.warn("Filed block request for card {} with risk score {} {}", context.cardId(), score, reasons);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Asynchronous risk scoring failed for card {}", context.cardId(), e);
+        }
+    }
+
+    private record History(long lastHour, long lastMonth, long lastDayCount, long lastMonthCount) {
+    }
+}
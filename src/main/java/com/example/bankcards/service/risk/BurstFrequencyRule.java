@@ -0,0 +1,27 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import org.springframework.stereotype.Component;
+
+// Flags many movements from one card in a short time
+@Component
+public class BurstFrequencyRule implements RiskRule {
+
+    static final int SCORE = 50;
+
+    private final int burstCount;
+
+    public BurstFrequencyRule(RiskProperties properties) {
+        this.burstCount = properties.getBurstCount();
+    }
+
+    @Override
+    public String name() {
+        return "burst_frequency";
+    }
+
+    @Override
+    public int score(RiskContext context, RiskFeatures features) {
+        return features.recentMovements() + 1 >= burstCount ? SCORE : 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.bankcards.service.risk;
+
+/**
+ * Fixed-size feature state of one card: moving mean and variance of amounts, the last few
+ * destination cards and the times of the last few movements. Updated after each commit.
+ */
+class CardRiskProfile {
+
+    static final int RECENT_DESTINATIONS = 16;
+
+    static final int RECENT_MOVEMENTS = 32;
+
+    private static final double ALPHA = 0.1; // weight of the newest amount in the moving statistics
+
+    private long samples;
+
+    private double mean;
+
+    private double variance;
+
+    private final long[] destinations = new long[RECENT_DESTINATIONS];
+
+    private int destinationCount;
+
+    private int nextDestination;
+
+    private final long[] movementTimes = new long[RECENT_MOVEMENTS];
+
+    private int movementCount;
+
+    private int nextMovement;
+
+    private volatile long lastSeenMillis;
+
+    synchronized RiskFeatures features(Long toCardId, long nowMillis, long burstWindowMillis) {
+        int recent = 0;
+        for (int i = 0; i < movementCount; i++) {
+            if (nowMillis - movementTimes[i] < burstWindowMillis) {
+                recent++;
+            }
+        }
+        boolean known = false;
+        if (toCardId != null) {
+            for (int i = 0; i < destinationCount && !known; i++) {
+                known = destinations[i] == toCardId;
+            }
+        }
+        return new RiskFeatures(samples, mean, Math.sqrt(variance), recent, known);
+    }
+
+    synchronized void record(long amount, Long toCardId, long nowMillis) {
+        if (samples == 0) {
+            mean = amount;
+        } else {
+            double delta = amount - mean;
+            mean += ALPHA * delta;
+            variance = (1 - ALPHA) * (variance + ALPHA * delta * delta);
+        }
+        samples++;
+
+        movementTimes[nextMovement] = nowMillis;
+        nextMovement = (nextMovement + 1) % RECENT_MOVEMENTS;
+        movementCount = Math.min(movementCount + 1, RECENT_MOVEMENTS);
+
+        if (toCardId != null && !contains(toCardId)) {
+            destinations[nextDestination] = toCardId;
+            nextDestination = (nextDestination + 1) % RECENT_DESTINATIONS;
+            destinationCount = Math.min(destinationCount + 1, RECENT_DESTINATIONS);
+        }
+        lastSeenMillis = nowMillis;
+    }
+
+    long getLastSeenMillis() {
+        return lastSeenMillis;
+    }
+
+    private boolean contains(long cardId) {
+        for (int i = 0; i < destinationCount; i++) {
+            if (destinations[i] == cardId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inline risk check on debits and transfers, run inside the transaction before money moves.
+ * The {@link RiskRule}s score the movement against the card's in-memory features. A score at
+ * {@code decline-score} or above refuses it. A score at {@code review-score} or above lets it
+ * through and has {@link AsyncRiskScorer} look again after commit.
+ * <p>
+ * The whole check has a budget. Rules run one after another and the clock is checked between
+ * them. Once the budget is spent, the remaining rules are skipped and the failure policy
+ * decides: {@code OPEN} allows the movement, {@code CLOSED} refuses it. Features are updated
+ * only after the transaction commits, so refused and rolled-back movements leave no trace.
+ */
+@Service
+public class FraudCheckService {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudCheckService.class);
+
+    private final List<RiskRule> rules;
+
+    private final RiskFeatureStore featureStore;
+
+    private final AsyncRiskScorer asyncRiskScorer;
+
+    private final boolean enabled;
+
+    private final long budgetNanos;
+
+    private final RiskProperties.FailurePolicy onBudgetExceeded;
+
+    private final int reviewScore;
+
+    private final int declineScore;
+
+    private final Map<String, Timer> evaluationTimers;
+
+    private final Counter budgetExceededCounter;
+
+    public FraudCheckService(List<RiskRule> rules,
+                             RiskFeatureStore featureStore,
+                             AsyncRiskScorer asyncRiskScorer,
+                             RiskProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.rules = List.copyOf(rules);
+        this.featureStore = featureStore;
+        this.asyncRiskScorer = asyncRiskScorer;
+        this.enabled = properties.isEnabled();
+        this.budgetNanos = properties.getBudget().toNanos();
+        this.onBudgetExceeded = properties.getOnBudgetExceeded();
+        this.reviewScore = properties.getReviewScore();
+        this.declineScore = properties.getDeclineScore();
+        this.evaluationTimers = Stream.of("allowed", "review", "declined", "over_budget_allowed", "over_budget_declined")
+                .collect(Collectors.toMap(Function.identity(), outcome -> Timer.builder("bank.risk.evaluation")
+                        .description("Time spent in the inline risk check")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(properties.getBudget())
+                        .register(meterRegistry)));
+        this.budgetExceededCounter = Counter.builder("bank.risk.budget_exceeded")
+                .description("Inline risk checks that ran out of their latency budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scores the movement and throws if it is refused. Must run in the transaction that moves the money.
+     */
+    public void check(RiskContext context) {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        RiskFeatures features = featureStore.features(context);
+
+        int score = 0;
+        List<String> reasons = new ArrayList<>(rules.size());
+        boolean overBudget = false;
+        for (RiskRule rule : rules) {
+            if (System.nanoTime() - deadline > 0) {
+                overBudget = true;
+                break;
+            }
+            int points = rule.score(context, features);
+            if (points > 0) {
+                score += points;
+                reasons.add(rule.name());
+            }
+        }
+        if (System.nanoTime() - deadline > 0) {
+            overBudget = true;
+        }
+
+        if (overBudget) {
+            budgetExceededCounter.increment();
+            if (onBudgetExceeded == RiskProperties.FailurePolicy.CLOSED) {
+                record("over_budget_declined", start);
+                throw new BusinessException("Transaction could not be risk-checked, please retry");
+            }
+            log.warn("Risk check on card {} ran over budget, allowing per policy", context.cardId());
+        }
+        if (score >= declineScore) {
+            record("declined", start);
+            log.info("Declined {} on card {} with risk score {} {}", context.kind(), context.cardId(), score, reasons);
+            throw new BusinessException("Transaction declined by risk check");
+        }
+
+        boolean review = score >= reviewScore;
+        record(overBudget ? "over_budget_allowed" : review ? "review" : "allowed", start);
+
+        int inlineScore = score;
+        afterCommit(() -> {
+            featureStore.record(context);
+            if (review) {
+                asyncRiskScorer.submit(context, inlineScore, reasons);
+            }
+        });
+    }
+
+    private void record(String outcome, long start) {
+        evaluationTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bankcards.service.risk;
+
+import org.springframework.stereotype.Component;
+
+// Flags transfers to a card this card has not sent money to recently
+@Component
+public class NewDestinationRule implements RiskRule {
+
+    static final int SCORE = 20;
+
+    private static final int MIN_SAMPLES = 3; // a card with no history has no usual destinations
+
+    @Override
+    public String name() {
+        return "new_destination";
+    }
+
+    @Override
+    public int score(RiskContext context, RiskFeatures features) {
+        if (context.kind() != RiskContext.Kind.TRANSFER || features.samples() < MIN_SAMPLES) {
+            return 0;
+        }
+        return features.knownDestination() ? 0 : SCORE;
+    }
+}
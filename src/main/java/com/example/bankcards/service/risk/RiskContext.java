@@ -0,0 +1,20 @@
+package com.example.bankcards.service.risk;
+
+/**
+ * One money movement about to be made from a card. Amounts are minor units of the card's currency.
+ */
+public record RiskContext(Kind kind, Long cardId, Long ownerId, Long toCardId, long amount, long timestampMillis) {
+
+    public enum Kind {
+        DEBIT,
+        TRANSFER
+    }
+
+    public static RiskContext debit(Long cardId, Long ownerId, long amount) {
+        return new RiskContext(Kind.DEBIT, cardId, ownerId, null, amount, System.currentTimeMillis());
+    }
+
+    public static RiskContext transfer(Long cardId, Long ownerId, Long toCardId, long amount) {
+        return new RiskContext(Kind.TRANSFER, cardId, ownerId, toCardId, amount, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-card {@link CardRiskProfile}s, at most {@code app.risk.max-profiles} of them. When the
+ * store is full, cards without a profile are scored as having no history until the sweep makes
+ * room by dropping idle and least recently seen profiles.
+ */
+@Component
+public class RiskFeatureStore {
+
+    private final Map<Long, CardRiskProfile> profiles = new ConcurrentHashMap<>();
+
+    private final int maxProfiles;
+
+    private final long idleTtlMillis;
+
+    private final long burstWindowMillis;
+
+    private final Counter fullCounter;
+
+    public RiskFeatureStore(RiskProperties properties, MeterRegistry meterRegistry) {
+        this.maxProfiles = properties.getMaxProfiles();
+        this.idleTtlMillis = properties.getProfileIdleTtl().toMillis();
+        this.burstWindowMillis = properties.getBurstWindow().toMillis();
+        this.fullCounter = Counter.builder("bank.risk.profiles.full")
+                .description("Movements not recorded because the profile store was full")
+                .register(meterRegistry);
+        Gauge.builder("bank.risk.profiles", profiles, Map::size)
+                .description("Cards with risk feature state in memory")
+                .register(meterRegistry);
+    }
+
+    public RiskFeatures features(RiskContext context) {
+        CardRiskProfile profile = profiles.get(context.cardId());
+        return profile != null
+                ? profile.features(context.toCardId(), context.timestampMillis(), burstWindowMillis)
+                : RiskFeatures.NONE;
+    }
+
+    /**
+     * Adds a committed movement to the card's profile.
+     */
+    public void record(RiskContext context) {
+        CardRiskProfile profile = profiles.get(context.cardId());
+        if (profile == null) {
+            if (profiles.size() >= maxProfiles) {
+                fullCounter.increment();
+                return;
+            }
+            profile = profiles.computeIfAbsent(context.cardId(), id -> new CardRiskProfile());
+        }
+        profile.record(context.amount(), context.toCardId(), context.timestampMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.risk.sweep-interval:60000}")
+    public void sweep() {
+        long idleBefore = System.currentTimeMillis() - idleTtlMillis;
+        profiles.values().removeIf(profile -> profile.getLastSeenMillis() < idleBefore);
+
+        // Keep headroom so new cards get profiles between sweeps
+        int target = maxProfiles - maxProfiles / 10;
+        int excess = profiles.size() - target;
+        if (excess > 0) {
+            profiles.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().getLastSeenMillis()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(profiles::remove);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.bankcards.service.risk;
+
+/**
+ * What a card's history says about the movement being checked, read from its {@link CardRiskProfile}.
+ *
+ * @param samples            committed movements the amount statistics are based on
+ * @param meanAmount         moving average of amounts, in minor units
+ * @param stddevAmount       moving standard deviation of amounts
+ * @param recentMovements    committed movements within the burst window
+ * @param knownDestination   whether the destination card was among the card's recent destinations
+ */
+public record RiskFeatures(long samples, double meanAmount, double stddevAmount, int recentMovements, boolean knownDestination) {
+
+    static final RiskFeatures NONE = new RiskFeatures(0, 0, 0, 0, false);
+}
@@ -0,0 +1,16 @@
+package com.example.bankcards.service.risk;
+
+/**
+ * An inline risk rule. Every bean implementing this is run by {@link FraudCheckService} before
+ * a debit or transfer commits, so it must work from {@link RiskFeatures} alone: no I/O, no locks.
+ * Checks that need the database belong in {@link AsyncRiskScorer}.
+ */
+public interface RiskRule {
+
+    String name();
+
+    /**
+     * Points this rule adds to the movement's score, 0 when it has no objection.
+     */
+    int score(RiskContext context, RiskFeatures features);
+}
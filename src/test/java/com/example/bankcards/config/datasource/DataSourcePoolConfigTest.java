@@ -0,0 +1,31 @@
+package com.example.bankcards.config.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourcePoolConfigTest {
+
+    @Test
+    void poolSize_UsesCoresAndSpindles() {
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+
+        assertEquals(9, DataSourcePoolConfig.poolSize(4, properties));
+    }
+
+    @Test
+    void poolSize_IsCappedByExpectedConcurrency() {
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.setExpectedConcurrency(10);
+
+        assertEquals(10, DataSourcePoolConfig.poolSize(64, properties));
+    }
+
+    @Test
+    void poolSize_NeverDropsBelowTwo() {
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.setExpectedConcurrency(1);
+
+        assertEquals(2, DataSourcePoolConfig.poolSize(8, properties));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class MonitoredDataSourceTest {
+
+    private final HikariDataSource hikari = mock(HikariDataSource.class);
+
+    @Test
+    void averageWaitNanos_FoldsSamplesOncePerInterval() {
+        MonitoredDataSource dataSource = new MonitoredDataSource(hikari);
+        long start = System.nanoTime();
+        dataSource.record(4_000_000);
+        dataSource.record(8_000_000);
+
+        double afterFold = dataSource.averageWaitNanos(start + MonitoredDataSource.FOLD_INTERVAL_NANOS * 2);
+        assertEquals(3_000_000, afterFold, 1); // half of the 6ms mean, starting from nothing
+
+        dataSource.record(100_000_000);
+        assertEquals(afterFold, dataSource.averageWaitNanos(start + MonitoredDataSource.FOLD_INTERVAL_NANOS * 2 + 1));
+    }
+
+    @Test
+    void averageWaitNanos_HalvesPerSecondWithoutSamples() {
+        MonitoredDataSource dataSource = new MonitoredDataSource(hikari);
+        long start = System.nanoTime();
+        dataSource.record(10_000_000);
+        double average = dataSource.averageWaitNanos(start + MonitoredDataSource.FOLD_INTERVAL_NANOS);
+
+        double later = dataSource.averageWaitNanos(start + MonitoredDataSource.FOLD_INTERVAL_NANOS + 1_000_000_000L);
+
+        assertEquals(average / 2, later, average * 1e-9);
+    }
+
+    @Test
+    void close_ClosesThePool() {
+        new MonitoredDataSource(hikari).close();
+
+        verify(hikari).close();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.request.RegisterRequest;
 import com.example.bankcards.dto.response.ApiResponse;
+import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.service.UserService;
@@ -16,12 +17,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +34,9 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private WebRequest webRequest;
+
     @InjectMocks
     private UserController userController;
 
@@ -51,22 +58,37 @@ public class UserControllerTest {
         Page<UserResponse> userPage = new PageImpl<>(Collections.singletonList(userResponse));
         when(userService.getUsers(any(User.class), any(), any(), any(), any(Pageable.class))).thenReturn(userPage);
 
-        ResponseEntity<ApiResponse<Page<UserResponse>>> response = userController.getAllUsers(
+        ResponseEntity<ApiResponse<PageResponse<UserResponse>>> response = userController.getAllUsers(
                 currentUser, null, null, null, 0, 10
         );
 
         assertEquals(200, response.getStatusCode().value());
-        assertEquals(userPage, response.getBody().getData());
+        assertEquals(userPage.getContent(), response.getBody().getData().getItems());
+        assertNull(response.getBody().getData().getNextCursor());
+        assertEquals(1L, response.getBody().getData().getTotal());
     }
 
     @Test
     void getUserById_ShouldReturnSuccessResponse() {
+        when(userService.getUserETag(anyLong(), any(User.class))).thenReturn("user-1-0-0-full");
         when(userService.getUserById(anyLong(), any(User.class))).thenReturn(userResponse);
 
-        ResponseEntity<ApiResponse<UserResponse>> response = userController.getUserById(1L, currentUser);
+        ResponseEntity<ApiResponse<UserResponse>> response = userController.getUserById(1L, currentUser, webRequest);
 
         assertEquals(200, response.getStatusCode().value());
         assertEquals(userResponse, response.getBody().getData());
+        assertEquals("\"user-1-0-0-full\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getUserById_WhenNotModified_ShouldSkipLoadingUser() {
+        when(userService.getUserETag(anyLong(), any(User.class))).thenReturn("user-1-0-0-full");
+        when(webRequest.checkNotModified("user-1-0-0-full")).thenReturn(true);
+
+        ResponseEntity<ApiResponse<UserResponse>> response = userController.getUserById(1L, currentUser, webRequest);
+
+        assertNull(response);
+        verify(userService, never()).getUserById(anyLong(), any(User.class));
     }
 
     @Test
@@ -0,0 +1,44 @@
+package com.example.bankcards.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_AllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        assertEquals(2, bucket.tryConsume(0).getRemaining());
+        assertEquals(1, bucket.tryConsume(0).getRemaining());
+        assertEquals(0, bucket.tryConsume(0).getRemaining());
+
+        RateLimitResult rejected = bucket.tryConsume(0);
+        assertFalse(rejected.isAllowed());
+        assertTrue(rejected.getRetryAfterNanos() > 0);
+    }
+
+    @Test
+    void tryConsume_RefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.tryConsume(SECOND / 4).isAllowed());
+        assertTrue(bucket.tryConsume(SECOND / 2).isAllowed());
+    }
+
+    @Test
+    void isIdle_OnlyAfterBucketIsFullForIdleTimeout() {
+        TokenBucket bucket = new TokenBucket(1, SECOND, 0);
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.isIdle(SECOND, SECOND));
+        assertTrue(bucket.isIdle(2 * SECOND, SECOND));
+    }
+}
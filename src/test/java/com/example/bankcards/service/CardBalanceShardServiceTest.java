@@ -0,0 +1,34 @@
+package com.example.bankcards.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardBalanceShardServiceTest {
+
+    @Test
+    void split_KeepsTotalExact() {
+        long total = 10_000;
+
+        long[] amounts = CardBalanceShardService.split(total, 3);
+
+        assertArrayEquals(new long[]{3334, 3333, 3333}, amounts);
+        assertEquals(total, Arrays.stream(amounts).sum());
+    }
+
+    @Test
+    void split_SpreadsCentsOverMoreShardsThanCents() {
+        long[] amounts = CardBalanceShardService.split(2, 4);
+
+        assertArrayEquals(new long[]{1, 1, 0, 0}, amounts);
+    }
+
+    @Test
+    void split_ZeroBalance() {
+        for (long amount : CardBalanceShardService.split(0, 8)) {
+            assertEquals(0, amount);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.request.CardBlockDecisionRequest;
+import com.example.bankcards.dto.request.CardBlockRequest;
+import com.example.bankcards.dto.response.CardBlockResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardBlock;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardBlockStatus;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.CardBlockRepository;
+import com.example.bankcards.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardBlockServiceTest {
+
+    @Mock
+    private CardBlockRepository cardBlockRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CardBlockService cardBlockService;
+
+    private User admin;
+    private User otherAdmin;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cardBlockService = new CardBlockService(cardBlockRepository, cardRepository, transactionManager, meterRegistry);
+
+        admin = new User();
+        admin.setId(1L);
+        admin.setRoles(Set.of(Role.ROLE_ADMIN));
+
+        otherAdmin = new User();
+        otherAdmin.setId(2L);
+        otherAdmin.setRoles(Set.of(Role.ROLE_ADMIN));
+    }
+
+    @Test
+    void resolve_ApproveBlocksCardsAndRecordsQueueTime() {
+        CardBlock first = pendingRequest(10L);
+        CardBlock second = pendingRequest(11L);
+        when(cardBlockRepository.findAllByIdForUpdate(any())).thenReturn(List.of(first, second));
+
+        List<CardBlockResponse> responses = cardBlockService.resolve(
+                new CardBlockDecisionRequest(List.of(11L, 10L), CardBlockStatus.APPROVED), admin);
+
+        assertEquals(2, responses.size());
+        assertEquals(CardBlockStatus.APPROVED, first.getStatus());
+        assertEquals(CardStatus.BLOCKED, first.getCard().getStatus());
+        assertEquals(admin.getId(), second.getResolvedBy());
+        assertEquals(2, meterRegistry.get("bank.card_block.resolved").tag("decision", "APPROVED").timer().count());
+    }
+
+    @Test
+    void resolve_RejectLeavesCardActive() {
+        CardBlock request = pendingRequest(10L);
+        when(cardBlockRepository.findAllByIdForUpdate(any())).thenReturn(List.of(request));
+
+        cardBlockService.resolve(new CardBlockDecisionRequest(List.of(10L), CardBlockStatus.REJECTED), admin);
+
+        assertEquals(CardBlockStatus.REJECTED, request.getStatus());
+        assertEquals(CardStatus.ACTIVE, request.getCard().getStatus());
+    }
+
+    @Test
+    void resolve_FailsWholeBatchWhenOneIsClaimedByAnotherAdmin() {
+        CardBlock free = pendingRequest(10L);
+        CardBlock claimed = pendingRequest(11L);
+        claimed.setClaimedBy(otherAdmin.getId());
+        claimed.setClaimedAt(LocalDateTime.now());
+        when(cardBlockRepository.findAllByIdForUpdate(any())).thenReturn(List.of(free, claimed));
+
+        assertThrows(BusinessException.class, () -> cardBlockService.resolve(
+                new CardBlockDecisionRequest(List.of(10L, 11L), CardBlockStatus.APPROVED), admin));
+
+        assertEquals(CardBlockStatus.PENDING, free.getStatus());
+        assertEquals(CardStatus.ACTIVE, free.getCard().getStatus());
+    }
+
+    @Test
+    void resolve_IgnoresLapsedClaim() {
+        CardBlock request = pendingRequest(10L);
+        request.setClaimedBy(otherAdmin.getId());
+        request.setClaimedAt(LocalDateTime.now().minus(CardBlockService.CLAIM_LEASE).minusSeconds(1));
+        when(cardBlockRepository.findAllByIdForUpdate(any())).thenReturn(List.of(request));
+
+        cardBlockService.resolve(new CardBlockDecisionRequest(List.of(10L), CardBlockStatus.REJECTED), admin);
+
+        assertEquals(CardBlockStatus.REJECTED, request.getStatus());
+        assertNull(request.getClaimedBy());
+    }
+
+    @Test
+    void resolve_ReportsMissingIds() {
+        when(cardBlockRepository.findAllByIdForUpdate(any())).thenReturn(List.of(pendingRequest(10L)));
+
+        BusinessException e = assertThrows(BusinessException.class, () -> cardBlockService.resolve(
+                new CardBlockDecisionRequest(List.of(10L, 12L), CardBlockStatus.APPROVED), admin));
+
+        assertTrue(e.getMessage().contains("12"));
+    }
+
+    @Test
+    void claimNext_AssignsOldestClaimableRequest() {
+        CardBlock request = pendingRequest(10L);
+        when(cardBlockRepository.findNextClaimable(any())).thenReturn(Optional.of(request));
+
+        Optional<CardBlockResponse> claimed = cardBlockService.claimNext(admin);
+
+        assertTrue(claimed.isPresent());
+        assertEquals(admin.getId(), request.getClaimedBy());
+        assertNotNull(request.getClaimedAt());
+    }
+
+    @Test
+    void claimNext_NonAdminDenied() {
+        User user = new User();
+        user.setId(3L);
+        user.setRoles(Set.of(Role.ROLE_USER));
+
+        assertThrows(AccessDeniedException.class, () -> cardBlockService.claimNext(user));
+        verifyNoInteractions(cardBlockRepository);
+    }
+
+    @Test
+    void createRequest_ConcurrentDuplicateReportedAsPending() {
+        Card card = pendingRequest(10L).getCard();
+        when(cardRepository.findById(card.getId())).thenReturn(Optional.of(card));
+        when(cardBlockRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("ux_card_block_card_pending"));
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> cardBlockService.createRequest(new CardBlockRequest(card.getId(), "lost"), admin));
+
+        assertEquals("A block request for this card is already pending", e.getMessage());
+        assertEquals(0, meterRegistry.get("bank.card_block.created").counter().count());
+    }
+
+    @Test
+    void createSystemRequest_ConcurrentDuplicateReturnsFalse() {
+        Card card = pendingRequest(10L).getCard();
+        when(cardRepository.findById(card.getId())).thenReturn(Optional.of(card));
+        when(cardBlockRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("ux_card_block_card_pending"));
+
+        assertFalse(cardBlockService.createSystemRequest(card.getId(), "Automatic: risk score 90"));
+        assertEquals(0, meterRegistry.get("bank.card_block.created").counter().count());
+    }
+
+    @Test
+    void createSystemRequest_FilesRequestForActiveCard() {
+        Card card = pendingRequest(10L).getCard();
+        when(cardRepository.findById(card.getId())).thenReturn(Optional.of(card));
+
+        assertTrue(cardBlockService.createSystemRequest(card.getId(), "Automatic: risk score 90"));
+        verify(cardBlockRepository).saveAndFlush(any());
+        assertEquals(1, meterRegistry.get("bank.card_block.created").counter().count());
+    }
+
+    @Test
+    void pendingGauge_ReadsCachedCountAdjustedByLocalCommits() {
+        when(cardBlockRepository.countByStatus(CardBlockStatus.PENDING)).thenReturn(5L);
+        cardBlockService.refreshPendingCount();
+        when(cardBlockRepository.findAllByIdForUpdate(any())).thenReturn(List.of(pendingRequest(10L)));
+
+        cardBlockService.resolve(new CardBlockDecisionRequest(List.of(10L), CardBlockStatus.REJECTED), admin);
+
+        assertEquals(4, meterRegistry.get("bank.card_block.pending").gauge().value());
+        verify(cardBlockRepository, times(1)).countByStatus(CardBlockStatus.PENDING);
+    }
+
+    private CardBlock pendingRequest(Long id) {
+        Card card = new Card();
+        card.setId(id * 100);
+        card.setMaskedCardNumber("**** **** **** 1234");
+        card.setStatus(CardStatus.ACTIVE);
+        card.setExpiryDate(LocalDate.now().plusYears(1));
+
+        CardBlock cardBlock = new CardBlock();
+        cardBlock.setId(id);
+        cardBlock.setCard(card);
+        cardBlock.setStatus(CardBlockStatus.PENDING);
+        cardBlock.setCreatedAt(LocalDateTime.now().minusMinutes(30));
+        return cardBlock;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.bankcards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardNumberGeneratorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CardNumberGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new CardNumberGenerator(jdbcTemplate, transactionManager, "400000", 100, "test-key");
+    }
+
+    @Test
+    void generate_ProducesBinPrefixedLuhnValidNumbers() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("400000"))).thenReturn(0L);
+
+        for (int i = 0; i < 100; i++) {
+            String cardNumber = generator.generate();
+            assertEquals(16, cardNumber.length());
+            assertTrue(cardNumber.startsWith("400000"));
+            assertTrue(CardNumberGenerator.isLuhnValid(cardNumber), cardNumber);
+        }
+    }
+
+    @Test
+    void generate_NeverRepeatsAcrossBlocks() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("400000"))).thenReturn(0L, 1L, 2L, 3L, 4L);
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(seen.add(generator.generate()));
+        }
+        verify(jdbcTemplate, times(5)).queryForObject(anyString(), eq(Long.class), eq("400000"));
+    }
+
+    @Test
+    void generate_RangeExhausted_ThrowsException() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("400000"))).thenReturn(10_000_000L);
+
+        assertThrows(IllegalStateException.class, () -> generator.generate());
+    }
+
+    @Test
+    void isLuhnValid_RejectsInvalidNumbers() {
+        assertTrue(CardNumberGenerator.isLuhnValid("4111111111111111"));
+        assertFalse(CardNumberGenerator.isLuhnValid("4111111111111112"));
+        assertFalse(CardNumberGenerator.isLuhnValid("41111111a1111111"));
+    }
+
+    @Test
+    void constructor_InvalidBin_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CardNumberGenerator(jdbcTemplate, transactionManager, "4000", 100, "test-key"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreditAccumulatorTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CreditAccumulator creditAccumulator;
+
+    @BeforeEach
+    void setUp() {
+        creditAccumulator = new CreditAccumulator(jdbcTemplate, transactionManager, new SimpleMeterRegistry(),
+                true, Duration.ofMillis(5), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void append_FlagsCardOnFirstJournaledCredit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Card card = new Card();
+        card.setId(7L);
+
+        creditAccumulator.append(card, 1_000L);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO credit_journal"), any(SqlParameterSource.class));
+        verify(jdbcTemplate).update(startsWith("UPDATE cards SET journaled_credits = TRUE"), any(SqlParameterSource.class));
+        assertEquals(1_000L, card.getPendingCreditsMinor());
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    @Test
+    void start_ClearsFlagsWhenWriteBehindIsOff() {
+        CreditAccumulator disabled = new CreditAccumulator(jdbcTemplate, transactionManager, new SimpleMeterRegistry(),
+                false, Duration.ofMillis(5), Duration.ofSeconds(10));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT card_id"), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of());
+
+        disabled.start();
+
+        verify(jdbcTemplate).update(startsWith("UPDATE cards c SET journaled_credits = FALSE"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void sweep_FlushesUnshardedCardIntoBalanceColumn() {
+        journalHoldsCreditsOf(7L);
+        when(jdbcTemplate.queryForList(startsWith("SELECT balance_shards"), any(SqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of(0));
+
+        creditAccumulator.sweep();
+
+        verify(jdbcTemplate).update(startsWith("WITH j AS (DELETE FROM credit_journal"), any(SqlParameterSource.class));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE card_balance_shards"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void sweep_FlushesShardedCardIntoShardNotColumn() {
+        journalHoldsCreditsOf(7L);
+        when(jdbcTemplate.queryForList(startsWith("SELECT balance_shards"), any(SqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of(4));
+        when(jdbcTemplate.queryForObject(startsWith("WITH j AS (DELETE FROM credit_journal"), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(2_550L);
+
+        creditAccumulator.sweep();
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(startsWith("UPDATE card_balance_shards"), params.capture());
+        assertEquals(7L, params.getValue().getValue("cardId"));
+        assertEquals(2_550L, params.getValue().getValue("amount"));
+        verify(jdbcTemplate, never()).update(startsWith("WITH j AS"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void sweep_SkipsDeletedCard() {
+        journalHoldsCreditsOf(7L);
+        when(jdbcTemplate.queryForList(startsWith("SELECT balance_shards"), any(SqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of());
+
+        creditAccumulator.sweep();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    private void journalHoldsCreditsOf(Long cardId) {
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT card_id"), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(cardId));
+    }
+}
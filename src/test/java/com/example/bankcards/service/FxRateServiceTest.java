@@ -0,0 +1,46 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FxRateServiceTest {
+
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        fxRateService = new FxRateService(mock(NamedParameterJdbcTemplate.class), new SimpleMeterRegistry(), "USD");
+    }
+
+    @Test
+    void resolveCurrency_NullIsDefault() {
+        assertEquals(Currency.getInstance("USD"), fxRateService.resolveCurrency(null));
+    }
+
+    @Test
+    void resolveCurrency_AcceptsTwoDecimalCurrency() {
+        assertEquals(Currency.getInstance("EUR"), fxRateService.resolveCurrency("eur"));
+    }
+
+    @Test
+    void resolveCurrency_RejectsCurrenciesWithOtherScales() {
+        for (String code : new String[]{"JPY", "KRW", "BHD", "XAU"}) {
+            BusinessException e = assertThrows(BusinessException.class, () -> fxRateService.resolveCurrency(code));
+            assertEquals("Currency not supported: " + code, e.getMessage());
+        }
+    }
+
+    @Test
+    void constructor_RejectsZeroDecimalDefaultCurrency() {
+        assertThrows(IllegalStateException.class,
+                () -> new FxRateService(mock(NamedParameterJdbcTemplate.class), new SimpleMeterRegistry(), "JPY"));
+    }
+}
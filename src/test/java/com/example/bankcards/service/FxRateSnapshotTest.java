@@ -0,0 +1,49 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.MinorUnits;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateSnapshotTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @Test
+    void rate_SameCurrencyIsOne() {
+        assertEquals(BigDecimal.ONE, FxRateSnapshot.EMPTY.rate(USD, USD));
+    }
+
+    @Test
+    void rate_DerivesInverseOfOneWayPair() {
+        FxRateSnapshot snapshot = FxRateSnapshot.of(
+                List.of(new FxRateSnapshot.Rate(USD, EUR, new BigDecimal("0.80000000"))), LocalDateTime.now());
+
+        assertEquals(new BigDecimal("0.80000000"), snapshot.rate(USD, EUR));
+        assertEquals(new BigDecimal("1.25000000"), snapshot.rate(EUR, USD));
+        assertNull(snapshot.rate(USD, GBP));
+    }
+
+    @Test
+    void rate_StoredPairWinsOverDerivedInverse() {
+        FxRateSnapshot snapshot = FxRateSnapshot.of(List.of(
+                new FxRateSnapshot.Rate(USD, EUR, new BigDecimal("0.80000000")),
+                new FxRateSnapshot.Rate(EUR, USD, new BigDecimal("1.24000000"))), LocalDateTime.now());
+
+        assertEquals(new BigDecimal("1.24000000"), snapshot.rate(EUR, USD));
+    }
+
+    @Test
+    void convert_RoundsHalfEvenToMinorUnit() {
+        // 10.05 * 0.5 = 5.025 -> 5.02; 10.07 * 0.5 = 5.035 -> 5.04
+        assertEquals(502, MinorUnits.convert(1005, new BigDecimal("0.5")));
+        assertEquals(504, MinorUnits.convert(1007, new BigDecimal("0.5")));
+    }
+}
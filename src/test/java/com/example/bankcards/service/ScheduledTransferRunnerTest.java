@@ -0,0 +1,66 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.enums.TransferFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledTransferRunnerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Test
+    void nextOccurrence_OnceHasNoNextRun() {
+        assertNull(ScheduledTransferRunner.nextOccurrence(TransferFrequency.ONCE, NOW, NOW));
+    }
+
+    @Test
+    void nextOccurrence_AdvancesOnePeriod() {
+        LocalDateTime current = NOW.minusMinutes(1);
+
+        assertEquals(current.plusDays(1), ScheduledTransferRunner.nextOccurrence(TransferFrequency.DAILY, current, NOW));
+        assertEquals(current.plusWeeks(1), ScheduledTransferRunner.nextOccurrence(TransferFrequency.WEEKLY, current, NOW));
+        assertEquals(current.plusMonths(1), ScheduledTransferRunner.nextOccurrence(TransferFrequency.MONTHLY, current, NOW));
+    }
+
+    @Test
+    void nextOccurrence_CollapsesMissedOccurrences() {
+        LocalDateTime current = NOW.minusDays(10).withHour(9);
+
+        LocalDateTime next = ScheduledTransferRunner.nextOccurrence(TransferFrequency.DAILY, current, NOW);
+
+        assertEquals(NOW.plusDays(1).withHour(9), next);
+    }
+
+    @Test
+    void retryDelay_GrowsExponentiallyWithinJitterBounds() {
+        Duration base = Duration.ofMinutes(1);
+        Duration max = Duration.ofHours(1);
+
+        for (int attempt = 1; attempt <= 4; attempt++) {
+            long ceiling = base.toMillis() << (attempt - 1);
+            Duration delay = ScheduledTransferRunner.retryDelay(attempt, base, max);
+            assertTrue(delay.toMillis() >= ceiling / 2 && delay.toMillis() <= ceiling, "attempt " + attempt + ": " + delay);
+        }
+    }
+
+    @Test
+    void retryDelay_IsCapped() {
+        Duration delay = ScheduledTransferRunner.retryDelay(50, Duration.ofMinutes(1), Duration.ofHours(1));
+
+        assertTrue(delay.compareTo(Duration.ofHours(1)) <= 0);
+        assertTrue(delay.compareTo(Duration.ofMinutes(30)) >= 0);
+    }
+
+    @Test
+    void shardOf_IsStableAndInRange() {
+        for (long cardId = 1; cardId < 10_000; cardId++) {
+            int shard = ScheduledTransferRunner.shardOf(cardId);
+            assertTrue(shard >= 0 && shard < ScheduledTransferRunner.SHARD_COUNT);
+            assertEquals(shard, ScheduledTransferRunner.shardOf(cardId));
+        }
+    }
+}
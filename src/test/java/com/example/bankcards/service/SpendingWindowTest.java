@@ -0,0 +1,59 @@
+package com.example.bankcards.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpendingWindowTest {
+
+    @Test
+    void tryAdd_RefusesWhatWouldExceedLimit() {
+        SpendingWindow window = new SpendingWindow(4);
+
+        assertTrue(window.tryAdd(100, 600, 1000));
+        assertFalse(window.tryAdd(100, 500, 1000));
+        assertTrue(window.tryAdd(101, 400, 1000));
+        assertEquals(1000, window.total(101));
+    }
+
+    @Test
+    void tryAdd_NoLimitWhenZero() {
+        SpendingWindow window = new SpendingWindow(4);
+
+        assertTrue(window.tryAdd(1, Long.MAX_VALUE / 2, 0));
+    }
+
+    @Test
+    void total_DropsSlotsThatLeftTheWindow() {
+        SpendingWindow window = new SpendingWindow(4);
+        window.add(10, 100);
+        window.add(11, 200);
+        window.add(13, 300);
+
+        assertEquals(600, window.total(13));
+        assertEquals(500, window.total(14)); // slot 10 is out
+        assertEquals(300, window.total(16));
+        assertEquals(0, window.total(100));
+    }
+
+    @Test
+    void add_AcceptsHistoryOutOfOrderAndIgnoresExpiredSlots() {
+        SpendingWindow window = new SpendingWindow(4);
+        window.add(20, 100);
+        window.add(18, 50);
+        window.add(10, 999); // older than the window
+
+        assertEquals(150, window.total(20));
+    }
+
+    @Test
+    void add_NegativeAmountTakesBackReservation() {
+        SpendingWindow window = new SpendingWindow(4);
+        assertTrue(window.tryAdd(5, 700, 1000));
+
+        window.add(5, -700);
+
+        assertEquals(0, window.total(5));
+        assertTrue(window.tryAdd(5, 1000, 1000));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.StatementProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatementGeneratorTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2025, 1);
+    private static final LocalDateTime CREDITED_AT = LocalDateTime.of(2025, 1, 5, 10, 0);
+    private static final LocalDateTime TRANSFERRED_AT = LocalDateTime.of(2025, 1, 10, 9, 30);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private StatementGenerator statementGenerator;
+
+    @BeforeEach
+    void setUp() {
+        StatementProperties properties = new StatementProperties();
+        properties.setFetchSize(1);
+        statementGenerator = new StatementGenerator(jdbcTemplate, transactionManager, properties);
+    }
+
+    @Test
+    void generate_DerivesBalancesFromLedgerAndPagesThroughEntries() throws Exception {
+        // 100.00 in the column and 20.00 in shards; a 30.00 credit arrived after January
+        when(jdbcTemplate.queryForList(eq(StatementGenerator.CARDS_SQL), any(SqlParameterSource.class)))
+                .thenReturn(List.of(Map.of(
+                        "id", 5L,
+                        "masked_card_number", "**** **** **** 1234",
+                        "currency", "USD",
+                        "balance", new BigDecimal("100.00"),
+                        "shard_minor", new BigDecimal("2000"),
+                        "pending_minor", 0L)));
+        when(jdbcTemplate.queryForMap(eq(StatementGenerator.TOTALS_SQL), any(SqlParameterSource.class)))
+                .thenReturn(Map.of("in_period", new BigDecimal("3000"), "after_period", new BigDecimal("3000")));
+
+        List<Object> cursors = new ArrayList<>();
+        when(jdbcTemplate.queryForList(eq(StatementGenerator.LINES_SQL), any(SqlParameterSource.class))).thenAnswer(invocation -> {
+            MapSqlParameterSource params = invocation.getArgument(1);
+            cursors.add(params.getValue("afterAt"));
+            cursors.add(params.getValue("afterId"));
+            long afterId = (Long) params.getValue("afterId");
+            if (afterId == 0) {
+                return List.of(entry(11L, CREDITED_AT, "CREDIT", 5_000L, null, null, null));
+            }
+            if (afterId == 11) {
+                return List.of(entry(12L, TRANSFERRED_AT, "TRANSFER_OUT", -2_000L, 40L, "**** **** **** 9999", "Rent"));
+            }
+            return List.of();
+        });
+
+        Path file = directory.resolve("7.csv");
+        assertTrue(statementGenerator.generate(7L, PERIOD, file));
+
+        assertEquals(List.of(
+                StatementGenerator.CSV_HEADER,
+                "**** **** **** 1234,USD,2025-01-01,OPENING,,,,60.00,",
+                "**** **** **** 1234,USD,2025-01-05T10:00,CREDIT,,,50.00,110.00,",
+                "**** **** **** 1234,USD,2025-01-10T09:30,TRANSFER_OUT,40,**** **** **** 9999,-20.00,90.00,Rent",
+                "**** **** **** 1234,USD,2025-01-31,CLOSING,,,,90.00,"
+        ), Files.readAllLines(file));
+
+        assertEquals(List.of(
+                Timestamp.valueOf(PERIOD.atDay(1).atStartOfDay()), 0L,
+                Timestamp.valueOf(CREDITED_AT), 11L,
+                Timestamp.valueOf(TRANSFERRED_AT), 12L
+        ), cursors);
+    }
+
+    @Test
+    void generate_UserWithoutCardsWritesNothing() throws Exception {
+        when(jdbcTemplate.queryForList(eq(StatementGenerator.CARDS_SQL), any(SqlParameterSource.class)))
+                .thenReturn(List.of());
+
+        Path file = directory.resolve("7.csv");
+        assertFalse(statementGenerator.generate(7L, PERIOD, file));
+
+        assertFalse(Files.exists(file));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static Map<String, Object> entry(long id, LocalDateTime createdAt, String type, long amountMinor,
+                                             Long transferId, String counterparty, String description) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("created_at", Timestamp.valueOf(createdAt));
+        row.put("entry_type", type);
+        row.put("amount_minor", amountMinor);
+        row.put("transfer_id", transferId);
+        row.put("counterparty", counterparty);
+        row.put("description", description);
+        return row;
+    }
+}
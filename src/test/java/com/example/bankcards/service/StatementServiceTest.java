@@ -0,0 +1,99 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.StatementProperties;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceTest {
+
+    @Mock
+    private StatementGenerator statementGenerator;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private StatementService statementService;
+
+    @BeforeEach
+    void setUp() {
+        StatementProperties properties = new StatementProperties();
+        properties.setDirectory(directory.toString());
+        statementService = new StatementService(properties, statementGenerator, jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        statementService.shutdown();
+    }
+
+    @Test
+    void start_CurrentMonth_ThrowsException() {
+        assertThrows(BusinessException.class, () -> statementService.start(YearMonth.now(), false));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void statementPath_SpreadsUsersOverDirectories() {
+        Path path = statementService.statementPath(123_456L, YearMonth.of(2025, 1));
+
+        assertEquals(directory.resolve("2025-01").resolve("123").resolve("123456.csv"), path);
+    }
+
+    @Test
+    void getStatement_NotGenerated_ThrowsException() {
+        User user = new User();
+        user.setId(7L);
+
+        assertThrows(BusinessException.class, () -> statementService.getStatement(user, YearMonth.of(2025, 1)));
+    }
+
+    @Test
+    void getStatement_Generated_ReturnsFile() throws Exception {
+        User user = new User();
+        user.setId(7L);
+        Path file = statementService.statementPath(7L, YearMonth.of(2025, 1));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, StatementGenerator.CSV_HEADER + "\n");
+
+        assertEquals(file, statementService.getStatement(user, YearMonth.of(2025, 1)));
+    }
+
+    @Test
+    void reclaim_LaunchesWorkersForRunsWithLapsedClaims() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT period FROM statement_runs"), any(SqlParameterSource.class), eq(Date.class)))
+                .thenReturn(List.of(Date.valueOf(LocalDate.of(2025, 1, 1))));
+
+        statementService.reclaim();
+
+        // nothing left to claim, so the workers try once each and exit
+        verify(jdbcTemplate, timeout(1000).atLeastOnce())
+                .queryForList(startsWith("UPDATE statement_runs SET status = 'RUNNING'"), any(SqlParameterSource.class));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.exception.BusinessException;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private StatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new StatsService(jdbcTemplate, transactionManager, userRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getTransferVolume_StartAfterEnd_ThrowsException() {
+        assertThrows(BusinessException.class,
+                () -> statsService.getTransferVolume(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void getTransferVolume_RangeTooLong_ThrowsException() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        assertThrows(BusinessException.class,
+                () -> statsService.getTransferVolume(from, from.plusDays(StatsService.MAX_DAYS)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void getTopUsersByActiveCards_LimitOutOfRange_ThrowsException() {
+        assertThrows(BusinessException.class, () -> statsService.getTopUsersByActiveCards(0));
+        assertThrows(BusinessException.class, () -> statsService.getTopUsersByActiveCards(StatsService.MAX_TOP_USERS + 1));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void getUserCardStats_UnknownUser_ThrowsException() {
+        when(userRepository.existsById(42L)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> statsService.getUserCardStats(42L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void refresh_LockHeldByAnotherNode_Skips() {
+        ArgumentCaptor<MapSqlParameterSource> lockParams = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), lockParams.capture(), eq(Boolean.class)))
+                .thenReturn(false);
+
+        statsService.refresh();
+
+        assertEquals(StatsService.REFRESH_LOCK, lockParams.getValue().getValue("key"));
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT MAX(day) FROM transfer_daily_stats"), any(SqlParameterSource.class), eq(Date.class));
+    }
+
+    @Test
+    void refresh_RecomputesFromDayBeforeLatestStoredDay() {
+        lockAcquired();
+        when(jdbcTemplate.queryForObject(eq("SELECT MAX(day) FROM transfer_daily_stats"), any(SqlParameterSource.class), eq(Date.class)))
+                .thenReturn(Date.valueOf(LocalDate.of(2025, 3, 10)));
+
+        statsService.refresh();
+
+        verify(jdbcTemplate).update(startsWith("REFRESH MATERIALIZED VIEW CONCURRENTLY card_balance_stats"), any(SqlParameterSource.class));
+        verify(jdbcTemplate).update(startsWith("REFRESH MATERIALIZED VIEW CONCURRENTLY user_card_stats"), any(SqlParameterSource.class));
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2025, 3, 9, 0, 0)), upsertedSince());
+        verify(jdbcTemplate).update(eq(StatsService.MARK_REFRESHED_SQL), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void refresh_EmptyDailyTable_RecomputesEverything() {
+        lockAcquired();
+        when(jdbcTemplate.queryForObject(eq("SELECT MAX(day) FROM transfer_daily_stats"), any(SqlParameterSource.class), eq(Date.class)))
+                .thenReturn(null);
+
+        statsService.refresh();
+
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0)), upsertedSince());
+        verify(jdbcTemplate).update(eq(StatsService.MARK_REFRESHED_SQL), any(SqlParameterSource.class));
+    }
+
+    private void lockAcquired() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), any(SqlParameterSource.class), eq(Boolean.class)))
+                .thenReturn(true);
+    }
+
+    private Object upsertedSince() {
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(eq(StatsService.UPSERT_DAILY_SQL), params.capture());
+        return params.getValue().getValue("since");
+    }
+}
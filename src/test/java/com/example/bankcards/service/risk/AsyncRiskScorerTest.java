@@ -0,0 +1,75 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import com.example.bankcards.service.CardBlockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncRiskScorerTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CardBlockService cardBlockService;
+
+    @Mock
+    private ResultSet history;
+
+    private AsyncRiskScorer asyncRiskScorer;
+
+    // A 250.00 debit flagged at the review score on a card that moved 100.00 a day for a month
+    private final RiskContext context = RiskContext.debit(1L, 10L, 25_000L);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        asyncRiskScorer = new AsyncRiskScorer(jdbcTemplate, cardBlockService, new RiskProperties(), new SimpleMeterRegistry());
+        when(jdbcTemplate.queryForObject(eq(AsyncRiskScorer.HISTORY_SQL), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> ((RowMapper<?>) invocation.getArgument(2)).mapRow(history, 0));
+        when(history.getLong("last_month")).thenReturn(30 * 10_000L + 25_000L);
+        when(history.getLong("last_day_count")).thenReturn(2L);
+        when(history.getLong("last_month_count")).thenReturn(31L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncRiskScorer.shutdown();
+    }
+
+    @Test
+    void score_ReviewLevelMovementOnOrdinaryCard_FilesNoBlockRequest() throws Exception {
+        when(history.getLong("last_hour")).thenReturn(25_000L);
+
+        asyncRiskScorer.score(context, 50, List.of("amount_spike", "burst_frequency"));
+
+        verifyNoInteractions(cardBlockService);
+    }
+
+    @Test
+    void score_OtherMovementsFarAboveUsualInTheHour_FilesBlockRequest() throws Exception {
+        when(history.getLong("last_hour")).thenReturn(25_000L + 120_000L);
+        when(cardBlockService.createSystemRequest(anyLong(), anyString())).thenReturn(true);
+
+        asyncRiskScorer.score(context, 50, List.of("amount_spike", "burst_frequency"));
+
+        verify(cardBlockService).createSystemRequest(eq(1L), contains("hourly_velocity"));
+    }
+}
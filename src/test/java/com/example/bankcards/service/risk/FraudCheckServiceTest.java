@@ -0,0 +1,147 @@
+package com.example.bankcards.service.risk;
+
+import com.example.bankcards.config.RiskProperties;
+import com.example.bankcards.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudCheckServiceTest {
+
+    @Mock
+    private RiskFeatureStore featureStore;
+
+    @Mock
+    private AsyncRiskScorer asyncRiskScorer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RiskProperties properties;
+
+    private final RiskContext context = RiskContext.transfer(1L, 10L, 2L, 5_000L);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RiskProperties();
+        properties.setBudget(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void check_BelowReviewScore_AllowsAndRecordsFeatures() {
+        when(featureStore.features(context)).thenReturn(RiskFeatures.NONE);
+
+        service(rule("small", 10)).check(context);
+
+        verify(featureStore).record(context);
+        verifyNoInteractions(asyncRiskScorer);
+        assertEquals(1, meterRegistry.get("bank.risk.evaluation").tag("outcome", "allowed").timer().count());
+    }
+
+    @Test
+    void check_AtReviewScore_AllowsAndQueuesSecondLook() {
+        when(featureStore.features(context)).thenReturn(RiskFeatures.NONE);
+
+        service(rule("a", 30), rule("b", 20)).check(context);
+
+        verify(featureStore).record(context);
+        verify(asyncRiskScorer).submit(context, 50, List.of("a", "b"));
+    }
+
+    @Test
+    void check_AtDeclineScore_RefusesWithoutRecording() {
+        when(featureStore.features(context)).thenReturn(RiskFeatures.NONE);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service(rule("a", 50), rule("b", 40)).check(context));
+
+        assertEquals("Transaction declined by risk check", ex.getMessage());
+        verify(featureStore, never()).record(any());
+        verifyNoInteractions(asyncRiskScorer);
+    }
+
+    @Test
+    void check_OverBudgetFailOpen_AllowsAndSkipsRemainingRules() {
+        properties.setBudget(Duration.ofMillis(1));
+        when(featureStore.features(context)).thenReturn(RiskFeatures.NONE);
+        RiskRule skipped = mock(RiskRule.class);
+
+        service(slowRule(), skipped).check(context);
+
+        verifyNoInteractions(skipped);
+        verify(featureStore).record(context);
+        assertEquals(1.0, meterRegistry.get("bank.risk.budget_exceeded").counter().count());
+        assertEquals(1, meterRegistry.get("bank.risk.evaluation").tag("outcome", "over_budget_allowed").timer().count());
+    }
+
+    @Test
+    void check_OverBudgetFailClosed_Refuses() {
+        properties.setBudget(Duration.ofMillis(1));
+        properties.setOnBudgetExceeded(RiskProperties.FailurePolicy.CLOSED);
+        when(featureStore.features(context)).thenReturn(RiskFeatures.NONE);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service(slowRule()).check(context));
+
+        assertEquals("Transaction could not be risk-checked, please retry", ex.getMessage());
+        verify(featureStore, never()).record(any());
+        verify(asyncRiskScorer, never()).submit(any(), anyInt(), any());
+    }
+
+    @Test
+    void check_Disabled_DoesNothing() {
+        properties.setEnabled(false);
+
+        service(rule("huge", 1000)).check(context);
+
+        verifyNoInteractions(featureStore, asyncRiskScorer);
+    }
+
+    private FraudCheckService service(RiskRule... rules) {
+        return new FraudCheckService(List.of(rules), featureStore, asyncRiskScorer, properties, meterRegistry);
+    }
+
+    private static RiskRule rule(String name, int points) {
+        return new RiskRule() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int score(RiskContext context, RiskFeatures features) {
+                return points;
+            }
+        };
+    }
+
+    private static RiskRule slowRule() {
+        return new RiskRule() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public int score(RiskContext context, RiskFeatures features) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 0;
+            }
+        };
+    }
+}